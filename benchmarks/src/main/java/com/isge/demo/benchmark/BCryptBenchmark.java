@@ -0,0 +1,43 @@
+package com.isge.demo.benchmark;
+
+import com.isge.demo.security.SecurityConfig;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'un hachage et d'une vérification BCrypt avec l'encodeur de {@link SecurityConfig#passwordEncoder()},
+ * payé à chaque connexion et à chaque inscription.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BCryptBenchmark {
+
+    private static final String MOT_DE_PASSE = "motdepasse";
+
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        // passwordEncoder() ne dépend pas des collaborateurs de la configuration
+        passwordEncoder = new SecurityConfig(null, null).passwordEncoder();
+        hash = passwordEncoder.encode(MOT_DE_PASSE);
+    }
+
+    @Benchmark
+    public String hachage() {
+        return passwordEncoder.encode(MOT_DE_PASSE);
+    }
+
+    @Benchmark
+    public boolean verification() {
+        return passwordEncoder.matches(MOT_DE_PASSE, hash);
+    }
+}
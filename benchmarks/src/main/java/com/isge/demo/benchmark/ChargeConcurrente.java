@@ -0,0 +1,163 @@
+package com.isge.demo.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test de charge : N clients concurrents envoient des requêtes GET authentifiées à une API démarrée
+ * et mesurent le débit et les latences (p50, p99). Sert à comparer le mode par défaut (pool de threads Tomcat)
+ * au profil Spring "virtual" (threads virtuels).
+ *
+ * <pre>
+ * mvn -f benchmarks/pom.xml compile exec:java -Dexec.mainClass=com.isge.demo.benchmark.ChargeConcurrente \
+ *     -Dexec.args="http://localhost:8081 400 30 /api/commandes/page?taille=20"
+ * </pre>
+ *
+ * Arguments (tous optionnels) : URL de base, nombre de clients, durée de mesure en secondes, chemin appelé.
+ */
+public final class ChargeConcurrente {
+
+	private static final String EMAIL = "charge@benchmark.local";
+	private static final String PASSWORD = "charge";
+	private static final Duration ECHAUFFEMENT = Duration.ofSeconds(5);
+
+	public static void main(String[] args) throws Exception {
+		String url = argument(args, 0, "http://localhost:8081");
+		int clients = Integer.parseInt(argument(args, 1, "200"));
+		Duration duree = Duration.ofSeconds(Long.parseLong(argument(args, 2, "30")));
+		String chemin = argument(args, 3, "/api/commandes/page?taille=20");
+
+		HttpClient http = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+		String jwt = connecter(http, url);
+		HttpRequest requete = HttpRequest.newBuilder(URI.create(url + chemin))
+				.header("Authorization", "Bearer " + jwt)
+				.timeout(Duration.ofSeconds(30))
+				.GET()
+				.build();
+
+		System.out.printf("%d clients, %s, échauffement %ds puis mesure %ds%n",
+				clients, requete.uri(), ECHAUFFEMENT.toSeconds(), duree.toSeconds());
+		executer(http, requete, clients, ECHAUFFEMENT);
+		Resultat resultat = executer(http, requete, clients, duree);
+		resultat.afficher(duree);
+	}
+
+	private static Resultat executer(HttpClient http, HttpRequest requete, int clients, Duration duree)
+			throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(clients);
+		List<long[]> latences = new ArrayList<>();
+		AtomicLong erreurs = new AtomicLong();
+		CountDownLatch depart = new CountDownLatch(1);
+		long fin = System.nanoTime() + duree.toNanos() + 1;
+
+		for (int i = 0; i < clients; i++) {
+			Mesures mesures = new Mesures();
+			executor.submit(() -> {
+				depart.await();
+				while (System.nanoTime() < fin) {
+					long debut = System.nanoTime();
+					try {
+						HttpResponse<Void> reponse = http.send(requete, HttpResponse.BodyHandlers.discarding());
+						if (reponse.statusCode() != 200) {
+							erreurs.incrementAndGet();
+							continue;
+						}
+					} catch (Exception e) {
+						erreurs.incrementAndGet();
+						continue;
+					}
+					mesures.ajouter(System.nanoTime() - debut);
+				}
+				synchronized (latences) {
+					latences.add(mesures.valeurs());
+				}
+				return null;
+			});
+		}
+		depart.countDown();
+		executor.shutdown();
+		executor.awaitTermination(duree.toSeconds() + 60, TimeUnit.SECONDS);
+
+		long[] toutes = latences.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+		return new Resultat(toutes, erreurs.get());
+	}
+
+	private static String connecter(HttpClient http, String url) throws Exception {
+		String identifiants = "{\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD + "\"}";
+		// inscription ignorée si le compte existe déjà
+		http.send(post(url + "/api/auth/register",
+				"{\"nom\":\"Charge\",\"email\":\"" + EMAIL + "\",\"password\":\"" + PASSWORD
+						+ "\",\"adresse\":\"-\",\"role\":\"ADMIN\"}"),
+				HttpResponse.BodyHandlers.discarding());
+		HttpResponse<String> reponse = http.send(post(url + "/api/auth/login", identifiants),
+				HttpResponse.BodyHandlers.ofString());
+		if (reponse.statusCode() != 200) {
+			throw new IllegalStateException("Connexion impossible : " + reponse.statusCode() + " " + reponse.body());
+		}
+		String corps = reponse.body();
+		int debut = corps.indexOf("\"jwt\":\"") + 7;
+		return corps.substring(debut, corps.indexOf('"', debut));
+	}
+
+	private static HttpRequest post(String url, String corps) {
+		return HttpRequest.newBuilder(URI.create(url))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(corps))
+				.build();
+	}
+
+	private static String argument(String[] args, int index, String defaut) {
+		return args.length > index ? args[index] : defaut;
+	}
+
+	/** Latences d'un client, en nanosecondes. */
+	private static final class Mesures {
+		private long[] valeurs = new long[1024];
+		private int taille;
+
+		void ajouter(long latence) {
+			if (taille == valeurs.length) {
+				valeurs = Arrays.copyOf(valeurs, taille * 2);
+			}
+			valeurs[taille++] = latence;
+		}
+
+		long[] valeurs() {
+			return Arrays.copyOf(valeurs, taille);
+		}
+	}
+
+	private record Resultat(long[] latences, long erreurs) {
+
+		void afficher(Duration duree) {
+			double debit = latences.length / (double) duree.toSeconds();
+			System.out.printf("requêtes : %d (erreurs : %d)%n", latences.length, erreurs);
+			System.out.printf("débit    : %.0f req/s%n", debit);
+			System.out.printf("p50      : %.1f ms%n", percentile(0.50));
+			System.out.printf("p99      : %.1f ms%n", percentile(0.99));
+			System.out.printf("max      : %.1f ms%n", latences.length == 0 ? 0 : latences[latences.length - 1] / 1e6);
+		}
+
+		private double percentile(double p) {
+			if (latences.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(p * latences.length) - 1;
+			return latences[Math.max(index, 0)] / 1e6;
+		}
+	}
+}
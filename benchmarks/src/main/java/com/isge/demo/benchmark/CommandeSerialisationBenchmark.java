@@ -0,0 +1,62 @@
+package com.isge.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.isge.demo.entity.Client;
+import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Plat;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation JSON d'une {@link Commande} contenant {@code nombrePlats} plats,
+ * avec un ObjectMapper configuré comme celui de Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandeSerialisationBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int nombrePlats;
+
+    private ObjectMapper objectMapper;
+    private Commande commande;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Client client = new Client();
+        client.setId("client-1");
+        client.setNom("Jean Dupont");
+        client.setEmail("jean.dupont@example.com");
+        client.setRole("ROLE_CLIENT");
+        client.setAdresse("123 Rue de Paris, 75001 Paris");
+
+        List<Plat> plats = new ArrayList<>();
+        for (int i = 0; i < nombrePlats; i++) {
+            plats.add(new Plat("plat-" + i, "Plat " + i, 9.5 + i, "Description du plat " + i,
+                    "principal", List.of("gluten", "lactose"), true));
+        }
+
+        commande = new Commande();
+        commande.setId("commande-1");
+        commande.setDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+        commande.setClient(client);
+        commande.setPlats(plats);
+    }
+
+    @Benchmark
+    public byte[] serialisation() throws Exception {
+        return objectMapper.writeValueAsBytes(commande);
+    }
+}
@@ -0,0 +1,76 @@
+package com.isge.demo.benchmark;
+
+import com.isge.demo.security.JwtUtil;
+import com.isge.demo.security.JwtValidation;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure la génération et la validation des jetons par {@link JwtUtil}, et compare la validation
+ * avant et après la mise en cache de la clé et du parser.
+ * <p>
+ * {@code ancienneValidation} reproduit le chemin historique du filtre : trois parsings par requête
+ * ({@code extractUsername} puis {@code validateToken}), chacun reconstruisant la clé HMAC et le parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET_KEY = "votre_secret_key_tres_longue_et_securisee_sans_caracteres_speciaux";
+    private static final long EXPIRATION_TIME = 864_000_000;
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil(SECRET_KEY, EXPIRATION_TIME);
+        userDetails = new User("jean.dupont@example.com", "motdepasse", List.of());
+        token = jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generation() {
+        return jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean ancienneValidation() {
+        String username = ancienParsing(token).getSubject();
+        return username.equals(userDetails.getUsername())
+                && ancienParsing(token).getSubject().equals(userDetails.getUsername())
+                && !ancienParsing(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean nouvelleValidation() {
+        JwtValidation validation = jwtUtil.validate(token);
+        return validation.valid() && validation.getUsername().equals(userDetails.getUsername());
+    }
+
+    private static Claims ancienParsing(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
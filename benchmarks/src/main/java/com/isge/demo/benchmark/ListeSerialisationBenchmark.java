@@ -0,0 +1,96 @@
+package com.isge.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.isge.demo.dto.CommandeResume;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.entity.StatutCommande;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sérialisation d'une liste renvoyée par l'API, en JSON ou en CBOR, compressée ou non (gzip, comme Tomcat
+ * avec {@code server.compression}) : temps de production de la réponse, et taille sur le réseau affichée
+ * au démarrage de chaque combinaison.
+ * <ul>
+ *     <li>{@code plats} : 200 plats complets ({@code GET /api/plats}) ;</li>
+ *     <li>{@code commandes} : 500 résumés de commandes ({@code GET /api/commandes}).</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListeSerialisationBenchmark {
+
+    @Param({"plats", "commandes"})
+    private String liste;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private List<?> valeur;
+
+    @Setup
+    public void setup() throws IOException {
+        // Mêmes options que les convertisseurs de Spring Boot (dates ISO-8601)
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        }
+        objectMapper = builder.build();
+        valeur = liste.equals("plats") ? plats() : commandes();
+
+        System.out.printf("%n%s, %s%s : %d octets%n", liste, format, gzip ? " + gzip" : "", serialisation().length);
+    }
+
+    @Benchmark
+    public byte[] serialisation() throws IOException {
+        ByteArrayOutputStream octets = new ByteArrayOutputStream(16 * 1024);
+        try (OutputStream sortie = gzip ? new GZIPOutputStream(octets) : octets) {
+            objectMapper.writeValue(sortie, valeur);
+        }
+        return octets.toByteArray();
+    }
+
+    private static List<Plat> plats() {
+        List<Plat> plats = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            plats.add(new Plat("9b2f6c1e-4d3a-4f7b-8c5e-" + String.format("%012d", i), "Plat du jour " + i, 9.5 + i % 20,
+                    "Description du plat " + i + ", préparé avec des produits frais de saison", "principal",
+                    List.of("gluten", "lactose", "arachides"), i % 3 != 0));
+        }
+        return plats;
+    }
+
+    private static List<CommandeResume> commandes() {
+        StatutCommande[] statuts = StatutCommande.values();
+        List<CommandeResume> commandes = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            commandes.add(new CommandeResume("5d8e2a4b-7c1f-4e9a-b3d6-" + String.format("%012d", i),
+                    LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(i), statuts[i % statuts.length],
+                    "0a7c3e91-2b4d-4f6e-9a8c-" + String.format("%012d", i % 50), "Client " + i % 50,
+                    BigDecimal.valueOf(1250 + i * 25L, 2), (long) i % 4, 1 + i % 5));
+        }
+        return commandes;
+    }
+}
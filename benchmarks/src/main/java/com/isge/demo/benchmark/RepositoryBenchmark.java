@@ -0,0 +1,135 @@
+package com.isge.demo.benchmark;
+
+import com.isge.demo.AppRestaurantV2Application;
+import com.isge.demo.config.CacheConfig;
+import com.isge.demo.entity.Client;
+import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.repository.ClientRepository;
+import com.isge.demo.repository.CommandeRepository;
+import com.isge.demo.repository.PlatRepository;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectures des repositories contre une base H2 en mémoire, remplie d'un jeu de données fixe
+ * ({@value #NOMBRE_COMMANDES} commandes de {@value #PLATS_PAR_COMMANDE} plats chacune).
+ * <p>
+ * {@code listeCommandesAvecPlats} parcourt les plats de chaque commande, comme le fait Jackson
+ * lors de la sérialisation de {@code GET /api/commandes}.
+ * <p>
+ * {@code ClientRepository.findByEmail} est mis en cache : {@code clientParEmail} vide l'entrée avant chaque
+ * appel pour mesurer la requête, {@code clientParEmailEnCache} mesure la lecture du cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    static final int NOMBRE_PLATS = 50;
+    static final int NOMBRE_COMMANDES = 200;
+    static final int PLATS_PAR_COMMANDE = 5;
+    static final String EMAIL = "jean.dupont@example.com";
+
+    private ConfigurableApplicationContext context;
+    private ClientRepository clientRepository;
+    private CommandeRepository commandeRepository;
+    private TransactionTemplate transactionTemplate;
+    private Cache clientsParEmail;
+    private String commandeId;
+
+    @Setup
+    public void setup() {
+        // Passées en arguments pour primer sur application.yml (SQL et paramètres journalisés)
+        context = new SpringApplicationBuilder(AppRestaurantV2Application.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.devtools.restart.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "--logging.level.org.springframework.security=WARN");
+        clientRepository = context.getBean(ClientRepository.class);
+        commandeRepository = context.getBean(CommandeRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        clientsParEmail = context.getBean(CacheManager.class).getCache(CacheConfig.CLIENT_PAR_EMAIL);
+        PlatRepository platRepository = context.getBean(PlatRepository.class);
+
+        Client client = new Client();
+        client.setNom("Jean Dupont");
+        client.setEmail(EMAIL);
+        client.setRole("ROLE_CLIENT");
+        client = clientRepository.save(client);
+
+        List<Plat> plats = new ArrayList<>();
+        for (int i = 0; i < NOMBRE_PLATS; i++) {
+            plats.add(new Plat(null, "Plat " + i, 9.5 + i, "Description du plat " + i,
+                    "principal", List.of("gluten"), true));
+        }
+        plats = platRepository.saveAll(plats);
+
+        List<Commande> commandes = new ArrayList<>();
+        for (int i = 0; i < NOMBRE_COMMANDES; i++) {
+            Commande commande = new Commande();
+            commande.setDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+            commande.setClient(client);
+            List<Plat> platsCommande = new ArrayList<>();
+            for (int j = 0; j < PLATS_PAR_COMMANDE; j++) {
+                platsCommande.add(plats.get((i + j) % NOMBRE_PLATS));
+            }
+            commande.setPlats(platsCommande);
+            commandes.add(commande);
+        }
+        commandeId = commandeRepository.saveAll(commandes).get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object clientParEmail() {
+        clientsParEmail.evict(EMAIL);
+        return clientRepository.findByEmail(EMAIL);
+    }
+
+    @Benchmark
+    public Object clientParEmailEnCache() {
+        return clientRepository.findByEmail(EMAIL);
+    }
+
+    @Benchmark
+    public Object commandeParId() {
+        return commandeRepository.findById(commandeId);
+    }
+
+    @Benchmark
+    public int listeCommandesAvecPlats() {
+        return transactionTemplate.execute(status -> {
+            int total = 0;
+            for (Commande commande : commandeRepository.findAll()) {
+                for (Plat plat : commande.getPlats()) {
+                    total += plat.getAllergenes().size();
+                }
+            }
+            return total;
+        });
+    }
+}
@@ -2,8 +2,10 @@ package com.isge.demo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AppRestaurantV2Application {
 
 	public static void main(String[] args) {
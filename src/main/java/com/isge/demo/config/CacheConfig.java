@@ -0,0 +1,107 @@
+package com.isge.demo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration des caches applicatifs, en mémoire (Caffeine) et bornés en taille.
+ * Les statistiques sont activées pour exposer les succès/échecs via /actuator/metrics/cache.gets.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Liste complète des plats, par version du catalogue. */
+    public static final String PLATS = "plats";
+    /** Résumé des plats disponibles, par version du catalogue. */
+    public static final String PLATS_DISPONIBLES = "platsDisponibles";
+    /** Plats par identifiant. */
+    public static final String PLAT = "plat";
+    /** Clients par email ; un email inconnu est mis en cache avec une valeur nulle. */
+    public static final String CLIENT_PAR_EMAIL = "clientParEmail";
+    /** Résultats des requêtes d'analyse des ventes, conservés brièvement. */
+    public static final String ANALYSES = "analyses";
+    /** Vues des menus (composition, allergènes, prix) par identifiant, reconstruites à chaque modification. */
+    public static final String MENU_VUES = "menuVues";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.plat.taille-max:1000}") long tailleMaxPlat,
+                                     @Value("${cache.client.taille-max:10000}") long tailleMaxClient,
+                                     @Value("${cache.client.duree:10m}") Duration dureeClient,
+                                     @Value("${cache.client.duree-email-inconnu:1m}") Duration dureeEmailInconnu,
+                                     @Value("${cache.analyse.duree:30s}") Duration dureeAnalyse,
+                                     @Value("${cache.menu-vue.taille-max:1000}") long tailleMaxMenuVue,
+                                     @Value("${cache.menu-vue.duree:10m}") Duration dureeMenuVue) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Aucun cache créé à la volée : seuls ceux déclarés ci-dessous existent
+        cacheManager.setCacheNames(List.of());
+        // Deux entrées : une liste tardive de l'ancienne version ne peut pas évincer celle de la version actuelle
+        cacheManager.registerCustomCache(PLATS, Caffeine.newBuilder()
+                .maximumSize(2)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PLATS_DISPONIBLES, Caffeine.newBuilder()
+                .maximumSize(2)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PLAT, Caffeine.newBuilder()
+                .maximumSize(tailleMaxPlat)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(CLIENT_PAR_EMAIL, Caffeine.newBuilder()
+                .maximumSize(tailleMaxClient)
+                .expireAfter(new ExpirationRecherche(dureeClient, dureeEmailInconnu))
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(ANALYSES, Caffeine.newBuilder()
+                .maximumSize(200)
+                .expireAfterWrite(dureeAnalyse)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(MENU_VUES, Caffeine.newBuilder()
+                .maximumSize(tailleMaxMenuVue)
+                .expireAfterWrite(dureeMenuVue)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+
+    /**
+     * Durée de vie d'une recherche mise en cache : plus courte lorsque rien n'a été trouvé,
+     * pour qu'une absence ne masque pas longtemps un enregistrement concurrent.
+     */
+    private static final class ExpirationRecherche implements Expiry<Object, Object> {
+        private final long trouveNanos;
+        private final long absentNanos;
+
+        private ExpirationRecherche(Duration trouve, Duration absent) {
+            this.trouveNanos = trouve.toNanos();
+            this.absentNanos = absent.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Object cle, Object valeur, long currentTime) {
+            return valeur instanceof NullValue ? absentNanos : trouveNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object cle, Object valeur, long currentTime, long currentDuration) {
+            return expireAfterCreate(cle, valeur, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object cle, Object valeur, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.isge.demo.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Formats de réponse proposés en plus du JSON.
+ * <p>
+ * Un client qui envoie {@code Accept: application/cbor} reçoit le même contenu encodé en CBOR (RFC 8949),
+ * plus compact et plus rapide à produire et à lire que le JSON. La compression gzip des réponses
+ * ({@code server.compression}) s'applique aux deux formats.
+ */
+@Configuration
+public class SerialisationConfig {
+
+    /**
+     * Convertisseur CBOR construit à partir du {@link Jackson2ObjectMapperBuilder} de Spring Boot :
+     * mêmes modules et mêmes options ({@code spring.jackson.*}) que le JSON, dates comprises.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
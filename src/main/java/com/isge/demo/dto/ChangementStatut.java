@@ -0,0 +1,13 @@
+package com.isge.demo.dto;
+
+import com.isge.demo.entity.StatutCommande;
+
+/**
+ * Demande de passage d'une commande à un nouveau statut.
+ *
+ * @param statut  le statut visé, qui doit suivre immédiatement le statut actuel
+ * @param version la version de la commande connue du client (optionnelle) : si elle est fournie,
+ *                le changement est refusé lorsque la commande a été modifiée entre-temps
+ */
+public record ChangementStatut(StatutCommande statut, Long version) {
+}
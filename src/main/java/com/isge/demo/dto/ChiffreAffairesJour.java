@@ -0,0 +1,10 @@
+package com.isge.demo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Ventes agrégées d'une journée.
+ */
+public record ChiffreAffairesJour(LocalDate jour, long nombreCommandes, BigDecimal chiffreAffaires) {
+}
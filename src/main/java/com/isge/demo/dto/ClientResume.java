@@ -0,0 +1,13 @@
+package com.isge.demo.dto;
+
+import com.isge.demo.entity.Client;
+
+/**
+ * Représentation publique d'un client : ni mot de passe, ni historique de commandes.
+ */
+public record ClientResume(String id, String nom, String email, String role, String adresse) {
+
+    public static ClientResume de(Client client) {
+        return new ClientResume(client.getId(), client.getNom(), client.getEmail(), client.getRole(), client.getAdresse());
+    }
+}
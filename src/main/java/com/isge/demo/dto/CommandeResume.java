@@ -0,0 +1,14 @@
+package com.isge.demo.dto;
+
+import com.isge.demo.entity.StatutCommande;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection d'une commande pour les listes : le client est réduit à son identifiant et son nom,
+ * les plats à leur nombre.
+ */
+public record CommandeResume(String id, LocalDateTime date, StatutCommande statut, String clientId, String clientNom,
+                             BigDecimal prixTotal, Long version, int nombrePlats) {
+}
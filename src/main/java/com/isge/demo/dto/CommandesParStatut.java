@@ -0,0 +1,9 @@
+package com.isge.demo.dto;
+
+import com.isge.demo.entity.StatutCommande;
+
+/**
+ * Nombre de commandes à un statut donné.
+ */
+public record CommandesParStatut(StatutCommande statut, long nombre) {
+}
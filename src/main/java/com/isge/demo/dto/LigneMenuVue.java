@@ -0,0 +1,10 @@
+package com.isge.demo.dto;
+
+/**
+ * Ligne de la requête de construction des {@link MenuVue} : un menu, l'un de ses plats et l'un des allergènes
+ * de ce plat. Les colonnes du plat et l'allergène sont nuls lorsque le menu n'a pas de plat ou le plat pas d'allergène.
+ */
+public record LigneMenuVue(String menuId, String menuNom, String menuDescription, double menuPrix,
+                           String platId, String platNom, Double platPrix, String platCategorie,
+                           Boolean platDisponible, String allergene) {
+}
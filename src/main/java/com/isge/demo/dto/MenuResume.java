@@ -0,0 +1,7 @@
+package com.isge.demo.dto;
+
+/**
+ * Projection d'un menu pour les listes, sans le détail des plats.
+ */
+public record MenuResume(String id, String nom, String description, double prix, int nombrePlats) {
+}
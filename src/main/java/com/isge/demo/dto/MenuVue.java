@@ -0,0 +1,16 @@
+package com.isge.demo.dto;
+
+import java.util.List;
+
+/**
+ * Composition d'un menu telle qu'affichée au client : plats servis, allergènes et prix à payer.
+ *
+ * @param plats              plats du menu actuellement disponibles
+ * @param platsIndisponibles nombre de plats du menu qui ne sont pas disponibles
+ * @param allergenes         union des allergènes des plats disponibles, triée
+ * @param prixCarte          somme des prix des plats disponibles commandés séparément
+ * @param prixEffectif       prix du menu, plafonné au prix à la carte ; le prix à la carte si le menu n'a pas de prix
+ */
+public record MenuVue(String id, String nom, String description, List<PlatResume> plats, int platsIndisponibles,
+                      List<String> allergenes, double prixCarte, double prixEffectif) {
+}
@@ -0,0 +1,12 @@
+package com.isge.demo.dto;
+
+import java.util.List;
+
+/**
+ * Page de résultats obtenue par pagination par curseur (keyset).
+ *
+ * @param contenu        les éléments de la page
+ * @param curseurSuivant le curseur à transmettre pour obtenir la page suivante, ou {@code null} s'il n'y en a plus
+ */
+public record PageCurseur<T>(List<T> contenu, String curseurSuivant) {
+}
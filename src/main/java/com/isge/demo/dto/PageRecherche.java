@@ -0,0 +1,12 @@
+package com.isge.demo.dto;
+
+import java.util.List;
+
+/**
+ * Page de résultats d'une recherche.
+ *
+ * @param page  numéro de la page, à partir de 0
+ * @param total nombre total de résultats correspondant à la recherche
+ */
+public record PageRecherche(List<ResultatRecherche> resultats, int page, int taille, long total) {
+}
@@ -0,0 +1,7 @@
+package com.isge.demo.dto;
+
+/**
+ * Projection d'un plat limitée aux colonnes affichées sur la carte.
+ */
+public record PlatResume(String id, String nom, double prix, String categorie) {
+}
@@ -0,0 +1,33 @@
+package com.isge.demo.dto;
+
+/**
+ * Résultat de l'enregistrement d'une commande au sein d'un lot.
+ *
+ * @param index   position de la commande dans le lot reçu
+ * @param statut  issue de l'enregistrement
+ * @param id      identifiant attribué si la commande a été créée
+ * @param message motif du rejet ou de l'échec
+ */
+public record ResultatLot(int index, Statut statut, String id, String message) {
+
+    public enum Statut {
+        /** Commande enregistrée. */
+        CREEE,
+        /** Commande invalide, non enregistrée. */
+        REJETEE,
+        /** Commande valide mais dont le paquet n'a pas pu être enregistré. */
+        ECHEC
+    }
+
+    public static ResultatLot creee(int index, String id) {
+        return new ResultatLot(index, Statut.CREEE, id, null);
+    }
+
+    public static ResultatLot rejetee(int index, String message) {
+        return new ResultatLot(index, Statut.REJETEE, null, message);
+    }
+
+    public static ResultatLot echec(int index, String message) {
+        return new ResultatLot(index, Statut.ECHEC, null, message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.isge.demo.dto;
+
+/**
+ * Plat ou menu trouvé par la recherche plein texte.
+ *
+ * @param categorie  catégorie du plat ({@code null} pour un menu)
+ * @param disponible disponibilité du plat (toujours vrai pour un menu)
+ * @param score      pertinence calculée par l'index ; les résultats sont triés par score décroissant
+ */
+public record ResultatRecherche(Type type, String id, String nom, String description, String categorie,
+                                double prix, boolean disponible, float score) {
+
+    public enum Type {
+        PLAT,
+        MENU
+    }
+}
@@ -0,0 +1,16 @@
+package com.isge.demo.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Synthèse des ventes d'une période : chiffre d'affaires et panier moyen.
+ *
+ * @param debut            premier jour de la période
+ * @param fin              dernier jour de la période (inclus)
+ * @param panierMoyen      montant moyen d'une commande
+ * @param platsParCommande nombre moyen de plats par commande
+ */
+public record SyntheseVentes(LocalDate debut, LocalDate fin, long nombreCommandes, BigDecimal chiffreAffaires,
+                             BigDecimal panierMoyen, double platsParCommande) {
+}
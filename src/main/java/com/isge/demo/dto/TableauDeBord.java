@@ -0,0 +1,22 @@
+package com.isge.demo.dto;
+
+import com.isge.demo.entity.StatutCommande;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Indicateurs en direct, lus dans les compteurs en mémoire sans interroger la base.
+ *
+ * @param commandesParStatut     nombre de commandes à chaque statut, toutes dates confondues
+ * @param commandesDuJour        nombre de commandes datées du jour
+ * @param chiffreAffairesDuJour  somme des prix totaux des commandes du jour
+ * @param platsVendusDuJour      quantité vendue dans la journée, par identifiant de plat
+ * @param derniereReconciliation date du dernier recalcul des compteurs à partir de la base
+ */
+public record TableauDeBord(LocalDate jour, Map<StatutCommande, Long> commandesParStatut, long commandesDuJour,
+                            BigDecimal chiffreAffairesDuJour, Map<String, Long> platsVendusDuJour,
+                            LocalDateTime derniereReconciliation) {
+}
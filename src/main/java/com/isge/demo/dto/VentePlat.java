@@ -0,0 +1,10 @@
+package com.isge.demo.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Ventes agrégées d'un plat sur une période. Le chiffre d'affaires est calculé au prix actuel du plat,
+ * les commandes ne conservant que leur prix total.
+ */
+public record VentePlat(String platId, String nom, long quantite, BigDecimal chiffreAffaires) {
+}
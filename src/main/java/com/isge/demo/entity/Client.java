@@ -1,5 +1,8 @@
 package com.isge.demo.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -16,6 +19,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_client_email", columnNames = "email"))
 public class Client {
 
     @Id
@@ -24,14 +28,17 @@ public class Client {
 
     private String nom;
     private String email;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) // accepté en entrée, jamais renvoyé
     private String password; // Ajoutez ce champ pour stocker le mot de passe
     private String role; // ROLE_ADMIN ou ROLE_CLIENT
     private String adresse;
 
+    @JsonIgnore // évite la boucle Client -> Commande -> Client à la sérialisation
     @OneToMany(mappedBy = "client")
     private List<Commande> historiqueCommandes;
     
  // Méthode pour les rôles (authorities)
+    @JsonIgnore
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
     }
@@ -4,7 +4,12 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -14,34 +19,46 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_commande_client_date", columnList = "client_id, date"), // sert aussi les recherches par client seul
+        @Index(name = "idx_commande_date", columnList = "date"),
+        @Index(name = "idx_commande_statut", columnList = "statut")
+})
 public class Commande {
 
 	@Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
-    private String date;
+    /**
+     * Date et heure de la commande (heure locale du restaurant), renseignée à la création si absente.
+     */
+    @Column(nullable = false)
+    private LocalDateTime date;
 
     @ManyToMany
+    @JoinTable(indexes = @Index(name = "idx_commande_plats_commande", columnList = "commande_id"))
+    @BatchSize(size = 50)
     private List<Plat> plats;
 
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR) // colonne texte sur toutes les bases (pas de type ENUM natif)
+    @Column(length = 20)
     private StatutCommande statut;
 
     @ManyToOne
     private Client client;
 
-    private double prixTotal;
+    /**
+     * Prix total calculé côté serveur à partir des plats, stocké pour ne pas être recalculé à la lecture.
+     */
+    @Column(precision = 12, scale = 2)
+    private BigDecimal prixTotal;
 
+    /**
+     * Version pour le verrouillage optimiste, incrémentée à chaque modification.
+     */
+    @Version
+    private Long version;
 	
 }
-
-/**
- * Enumération pour les statuts de commande.
- */
-enum StatutCommande {
-    EN_ATTENTE,
-    EN_PREPARATION,
-    PRETE,
-    LIVREE
-}
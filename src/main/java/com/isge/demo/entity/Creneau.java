@@ -0,0 +1,39 @@
+package com.isge.demo.entity;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Créneaux de service d'une journée, utilisés pour rechercher les commandes d'un service donné.
+ * Chaque créneau couvre l'intervalle [début, début + durée[.
+ */
+public enum Creneau {
+    MATIN(LocalTime.of(6, 0), Duration.ofHours(5)),
+    MIDI(LocalTime.of(11, 0), Duration.ofHours(4)),
+    APRES_MIDI(LocalTime.of(15, 0), Duration.ofHours(3)),
+    SOIR(LocalTime.of(18, 0), Duration.ofHours(6));
+
+    private final LocalTime debut;
+    private final Duration duree;
+
+    Creneau(LocalTime debut, Duration duree) {
+        this.debut = debut;
+        this.duree = duree;
+    }
+
+    /**
+     * @return le début du créneau le jour donné (inclus)
+     */
+    public LocalDateTime debut(LocalDate jour) {
+        return jour.atTime(debut);
+    }
+
+    /**
+     * @return la fin du créneau le jour donné (exclue)
+     */
+    public LocalDateTime fin(LocalDate jour) {
+        return debut(jour).plus(duree);
+    }
+}
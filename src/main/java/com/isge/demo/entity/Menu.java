@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.List;
 
@@ -24,6 +25,8 @@ public class Menu {
     private String description;
 
     @ManyToMany
+    @JoinTable(indexes = @Index(name = "idx_menu_plats_menu", columnList = "menu_id"))
+    @BatchSize(size = 50)
     private List<Plat> plats;
 
     private double prix;
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.List;
 
@@ -14,6 +15,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_plat_disponible_categorie", columnList = "disponible, categorie"))
 public class Plat {
 	    @Id
 	    @GeneratedValue(strategy = GenerationType.UUID)
@@ -25,6 +27,8 @@ public class Plat {
 	    private String categorie;
 
 	    @ElementCollection
+	    @CollectionTable(indexes = @Index(name = "idx_plat_allergenes_plat", columnList = "plat_id"))
+	    @BatchSize(size = 100) // les allergènes de plusieurs plats sont chargés en une requête
 	    private List<String> allergenes;
 
 	    private boolean disponible;
@@ -0,0 +1,19 @@
+package com.isge.demo.entity;
+
+/**
+ * Enumération pour les statuts de commande.
+ * Une commande avance d'un statut au suivant : EN_ATTENTE → EN_PREPARATION → PRETE → LIVREE.
+ */
+public enum StatutCommande {
+    EN_ATTENTE,
+    EN_PREPARATION,
+    PRETE,
+    LIVREE;
+
+    /**
+     * @return le seul statut depuis lequel une commande peut passer à celui-ci, ou {@code null} pour le statut initial
+     */
+    public StatutCommande precedent() {
+        return ordinal() == 0 ? null : values()[ordinal() - 1];
+    }
+}
@@ -0,0 +1,50 @@
+package com.isge.demo.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.StatutCommande;
+
+import java.math.BigDecimal;
+
+/**
+ * Événement publié par le service des commandes après chaque création, modification, changement de statut
+ * ou suppression.
+ *
+ * @param type           nature de la modification
+ * @param commandeId     identifiant de la commande concernée
+ * @param statut         statut de la commande après la modification (avant elle pour une suppression)
+ * @param statutPrecedent statut avant la modification ({@code null} pour une création)
+ * @param prixTotal      prix total de la commande, s'il est connu
+ * @param avant          état de la commande avant la modification, s'il est connu (non diffusé aux abonnés)
+ * @param apres          état de la commande après la modification, s'il est connu (non diffusé aux abonnés)
+ */
+public record CommandeEvenement(Type type, String commandeId, StatutCommande statut,
+                                StatutCommande statutPrecedent, BigDecimal prixTotal,
+                                @JsonIgnore EtatCommande avant, @JsonIgnore EtatCommande apres) {
+
+    public enum Type {
+        CREEE,
+        MODIFIEE,
+        STATUT_MODIFIE,
+        SUPPRIMEE
+    }
+
+    public static CommandeEvenement creee(Commande commande) {
+        return new CommandeEvenement(Type.CREEE, commande.getId(), commande.getStatut(), null, commande.getPrixTotal(),
+                null, EtatCommande.de(commande));
+    }
+
+    public static CommandeEvenement modifiee(Commande commande, EtatCommande avant) {
+        return new CommandeEvenement(Type.MODIFIEE, commande.getId(), commande.getStatut(), avant.statut(),
+                commande.getPrixTotal(), avant, EtatCommande.de(commande));
+    }
+
+    public static CommandeEvenement statutModifie(String commandeId, StatutCommande precedent, StatutCommande statut) {
+        return new CommandeEvenement(Type.STATUT_MODIFIE, commandeId, statut, precedent, null, null, null);
+    }
+
+    public static CommandeEvenement supprimee(String commandeId, EtatCommande avant) {
+        return new CommandeEvenement(Type.SUPPRIMEE, commandeId, avant.statut(), avant.statut(), avant.prixTotal(),
+                avant, null);
+    }
+}
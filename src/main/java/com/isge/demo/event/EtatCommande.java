@@ -0,0 +1,27 @@
+package com.isge.demo.event;
+
+import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.entity.StatutCommande;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Copie des champs d'une commande utiles aux compteurs du tableau de bord, prise avant ou après une modification.
+ *
+ * @param platIds identifiants des plats commandés, un par exemplaire
+ */
+public record EtatCommande(LocalDateTime date, StatutCommande statut, BigDecimal prixTotal, List<String> platIds) {
+
+    public static EtatCommande de(Commande commande) {
+        List<String> platIds = commande.getPlats() == null ? List.of() : commande.getPlats().stream()
+                .filter(Objects::nonNull)
+                .map(Plat::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        return new EtatCommande(commande.getDate(), commande.getStatut(), commande.getPrixTotal(), platIds);
+    }
+}
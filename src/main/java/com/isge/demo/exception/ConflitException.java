@@ -0,0 +1,16 @@
+package com.isge.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception lancée lorsqu'une modification entre en conflit avec l'état actuel d'une ressource.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class ConflitException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ConflitException(String message) {
+        super(message);
+    }
+}
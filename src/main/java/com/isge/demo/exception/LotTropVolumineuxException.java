@@ -0,0 +1,26 @@
+package com.isge.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception lancée lorsqu'un lot de commandes dépasse le nombre de lignes accepté.
+ */
+@ResponseStatus(value = HttpStatus.PAYLOAD_TOO_LARGE)
+public class LotTropVolumineuxException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int traitees;
+
+    public LotTropVolumineuxException(int lignesMax, int traitees) {
+        super("Le lot dépasse " + lignesMax + " commandes");
+        this.traitees = traitees;
+    }
+
+    /**
+     * @return le nombre de commandes déjà traitées lorsque la limite a été atteinte
+     */
+    public int getTraitees() {
+        return traitees;
+    }
+}
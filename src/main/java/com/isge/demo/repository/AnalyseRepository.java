@@ -0,0 +1,60 @@
+package com.isge.demo.repository;
+
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.isge.demo.dto.ChiffreAffairesJour;
+import com.isge.demo.dto.CommandesParStatut;
+import com.isge.demo.dto.VentePlat;
+import com.isge.demo.entity.Commande;
+
+/**
+ * Requêtes d'agrégation sur les commandes : la base ne renvoie que des lignes de synthèse.
+ * Toutes portent sur les commandes passées dans l'intervalle [debut, fin[.
+ */
+@Repository
+public interface AnalyseRepository extends org.springframework.data.repository.Repository<Commande, String> {
+
+	@Query("select count(c) from Commande c where c.date >= :debut and c.date < :fin")
+	long compterCommandes(LocalDateTime debut, LocalDateTime fin);
+
+	@Query("select coalesce(sum(c.prixTotal), 0) from Commande c where c.date >= :debut and c.date < :fin")
+	BigDecimal chiffreAffaires(LocalDateTime debut, LocalDateTime fin);
+
+	@Query("select count(p) from Commande c join c.plats p where c.date >= :debut and c.date < :fin")
+	long compterPlatsVendus(LocalDateTime debut, LocalDateTime fin);
+
+	@Query("select new com.isge.demo.dto.ChiffreAffairesJour(cast(c.date as LocalDate), count(c), coalesce(sum(c.prixTotal), 0)) "
+			+ "from Commande c where c.date >= :debut and c.date < :fin "
+			+ "group by cast(c.date as LocalDate) order by cast(c.date as LocalDate)")
+	List<ChiffreAffairesJour> chiffreAffairesParJour(LocalDateTime debut, LocalDateTime fin);
+
+	/**
+	 * Plats les plus vendus, par quantité décroissante.
+	 * <p>
+	 * Une commande ne conserve pas le prix de chacun de ses plats, seulement son {@code prixTotal} :
+	 * le chiffre d'affaires par plat est donc calculé au prix actuel du plat, arrondi au centime avant d'être
+	 * additionné, et peut différer de {@link #chiffreAffaires} si des prix ont changé sur la période.
+	 */
+	@Query("select new com.isge.demo.dto.VentePlat(p.id, p.nom, count(p), sum(cast(p.prix as BigDecimal(38, 2)))) "
+			+ "from Commande c join c.plats p where c.date >= :debut and c.date < :fin "
+			+ "group by p.id, p.nom order by count(p) desc, p.nom")
+	List<VentePlat> platsLesPlusVendus(LocalDateTime debut, LocalDateTime fin, Limit limit);
+
+	@Query("select new com.isge.demo.dto.CommandesParStatut(c.statut, count(c)) "
+			+ "from Commande c where c.date >= :debut and c.date < :fin group by c.statut order by c.statut")
+	List<CommandesParStatut> commandesParStatut(LocalDateTime debut, LocalDateTime fin);
+
+	/**
+	 * Nombre de commandes à chaque statut, toutes dates confondues.
+	 */
+	@Query("select new com.isge.demo.dto.CommandesParStatut(c.statut, count(c)) "
+			+ "from Commande c where c.statut is not null group by c.statut order by c.statut")
+	List<CommandesParStatut> commandesParStatut();
+}
@@ -1,14 +1,35 @@
 package com.isge.demo.repository;
 
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.isge.demo.config.CacheConfig;
+import com.isge.demo.dto.ClientResume;
 import com.isge.demo.entity.Client;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, String> {
+
+	/**
+	 * Recherche mise en cache, y compris lorsque l'email est inconnu (valeur nulle en cache).
+	 * Les modifications de clients passent par {@code ClientService}, qui invalide les entrées concernées.
+	 */
+	@Cacheable(cacheNames = CacheConfig.CLIENT_PAR_EMAIL, key = "#p0")
 	Optional<Client> findByEmail(String email);
+
+	/**
+	 * Liste des clients limitée aux colonnes publiques (projection DTO).
+	 */
+	List<ClientResume> findAllProjectedBy();
+
+	Optional<ClientResume> findResumeById(String id);
+
+	@Query("select c.email from Client c where c.id = :id")
+	Optional<String> findEmailById(String id);
 }
@@ -1,13 +1,125 @@
 package com.isge.demo.repository;
 
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.isge.demo.dto.CommandeResume;
 import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.StatutCommande;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface CommandeRepository extends JpaRepository<Commande, String> {
-	
+
+	String SELECT_RESUME = "select new com.isge.demo.dto.CommandeResume(c.id, c.date, c.statut, cl.id, cl.nom, "
+			+ "c.prixTotal, c.version, size(c.plats)) from Commande c left join c.client cl ";
+
+	/** Variante pour un client donné : {@code c.client.id} est lu directement dans la colonne client_id. */
+	String SELECT_RESUME_CLIENT = "select new com.isge.demo.dto.CommandeResume(c.id, c.date, c.statut, c.client.id, "
+			+ "c.client.nom, c.prixTotal, c.version, size(c.plats)) from Commande c where c.client.id = :clientId ";
+
+	/**
+	 * Charge les commandes avec leurs plats et leur client en une seule requête.
+	 */
+	@Override
+	@EntityGraph(attributePaths = {"plats", "client"})
+	List<Commande> findAll();
+
+	@Override
+	@EntityGraph(attributePaths = {"plats", "client"})
+	Optional<Commande> findById(String id);
+
+	/**
+	 * Résumés de toutes les commandes, en une requête ne lisant que les colonnes affichées.
+	 */
+	@Query(SELECT_RESUME + "order by c.id")
+	List<CommandeResume> findResumes();
+
+	/**
+	 * Première page de résumés de commandes, triés par identifiant.
+	 */
+	@Query(SELECT_RESUME + "order by c.id")
+	List<CommandeResume> findResumes(Limit limit);
+
+	/**
+	 * Page suivante (pagination par curseur) : commandes dont l'identifiant est
+	 * strictement supérieur au curseur, sans OFFSET côté base.
+	 */
+	@Query(SELECT_RESUME + "where c.id > :curseur order by c.id")
+	List<CommandeResume> findResumesApres(String curseur, Limit limit);
+
+	/**
+	 * Première page des commandes ne contenant aucun des plats indiqués, triées par identifiant.
+	 */
+	@Query(SELECT_RESUME + "where not exists (select p.id from c.plats p where p.id in :platIds) order by c.id")
+	List<CommandeResume> findResumesSansPlats(Collection<String> platIds, Limit limit);
+
+	/**
+	 * Page suivante des commandes ne contenant aucun des plats indiqués.
+	 */
+	@Query(SELECT_RESUME + "where c.id > :curseur and not exists (select p.id from c.plats p where p.id in :platIds) "
+			+ "order by c.id")
+	List<CommandeResume> findResumesSansPlatsApres(Collection<String> platIds, String curseur, Limit limit);
+
+	/**
+	 * Dernières commandes d'un client, de la plus récente à la plus ancienne
+	 * (parcours de l'index {@code idx_commande_client_date}).
+	 */
+	@Query(SELECT_RESUME_CLIENT + "order by c.date desc, c.id desc")
+	List<CommandeResume> findResumesParClient(String clientId, Limit limit);
+
+	/**
+	 * Page suivante de l'historique d'un client : commandes strictement antérieures au couple
+	 * (date, identifiant) de la dernière commande déjà lue.
+	 */
+	@Query(SELECT_RESUME_CLIENT + "and (c.date < :date or (c.date = :date and c.id < :id)) "
+			+ "order by c.date desc, c.id desc")
+	List<CommandeResume> findResumesParClientAvant(String clientId, LocalDateTime date, String id, Limit limit);
+
+	/**
+	 * Commandes passées dans l'intervalle [debut, fin[, par ordre chronologique (parcours de l'index {@code idx_commande_date}).
+	 */
+	@Query(SELECT_RESUME + "where c.date >= :debut and c.date < :fin order by c.date, c.id")
+	List<CommandeResume> findResumesEntre(LocalDateTime debut, LocalDateTime fin);
+
+	/**
+	 * Change le statut d'une commande en une seule requête conditionnelle, sans la charger :
+	 * la mise à jour n'a lieu que si la commande est au statut {@code precedent} et,
+	 * si {@code version} est fourni, à cette version.
+	 *
+	 * @return le nombre de commandes modifiées (0 ou 1)
+	 */
+	@Modifying
+	@Query("update Commande c set c.statut = :statut, c.version = c.version + 1 "
+			+ "where c.id = :id and c.statut = :precedent and (:version is null or c.version = :version)")
+	int changerStatut(String id, StatutCommande precedent, StatutCommande statut, Long version);
+
+	/**
+	 * Parcourt toutes les commandes et leur client sous forme de flux JDBC, lues par lots de taille bornée.
+	 * Les plats ne sont pas chargés : voir {@link #chargerPlats}. Doit être consommé dans une transaction ouverte.
+	 */
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("select c from Commande c left join fetch c.client order by c.id")
+	Stream<Commande> streamAll();
+
+	/**
+	 * Initialise en une requête les plats des commandes indiquées, déjà présentes dans le contexte de persistance.
+	 */
+	@Query("select distinct c from Commande c left join fetch c.plats where c.id in :ids")
+	List<Commande> chargerPlats(Collection<String> ids);
 }
 
@@ -1,10 +1,56 @@
 package com.isge.demo.repository;
 
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.isge.demo.dto.LigneMenuVue;
+import com.isge.demo.dto.MenuResume;
 import com.isge.demo.entity.Menu;
 
 @Repository
-public interface MenuRepository extends JpaRepository<Menu, String> {}
+public interface MenuRepository extends JpaRepository<Menu, String> {
+
+	/**
+	 * Charge les menus avec leurs plats en une seule requête.
+	 */
+	@Override
+	@EntityGraph(attributePaths = "plats")
+	List<Menu> findAll();
+
+	@Override
+	@EntityGraph(attributePaths = "plats")
+	Optional<Menu> findById(String id);
+
+	/**
+	 * Résumés des menus : colonnes du menu et nombre de plats, sans charger les plats.
+	 */
+	@Query("select new com.isge.demo.dto.MenuResume(m.id, m.nom, m.description, m.prix, size(m.plats)) "
+			+ "from Menu m order by m.nom")
+	List<MenuResume> findResumes();
+
+	String SELECT_LIGNES_VUE = "select new com.isge.demo.dto.LigneMenuVue(m.id, m.nom, m.description, m.prix, "
+			+ "p.id, p.nom, p.prix, p.categorie, p.disponible, a) "
+			+ "from Menu m left join m.plats p left join p.allergenes a ";
+
+	/**
+	 * Menus, plats et allergènes nécessaires aux vues des menus demandés, en une seule requête.
+	 */
+	@Query(SELECT_LIGNES_VUE + "where m.id in :ids order by m.id, p.nom, p.id")
+	List<LigneMenuVue> findLignesVue(Collection<String> ids);
+
+	@Query(SELECT_LIGNES_VUE + "order by m.id, p.nom, p.id")
+	List<LigneMenuVue> findLignesVue();
+
+	/**
+	 * Menus contenant un plat : ceux dont la vue change avec lui.
+	 */
+	@Query("select distinct m.id from Menu m join m.plats p where p.id = :platId")
+	List<String> findIdsByPlatId(String platId);
+}
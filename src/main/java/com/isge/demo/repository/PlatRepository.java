@@ -1,10 +1,32 @@
 package com.isge.demo.repository;
+import com.isge.demo.dto.PlatResume;
 import com.isge.demo.entity.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PlatRepository extends JpaRepository<Plat, String> {
-	
+
+	/**
+	 * Charge les plats avec leurs allergènes : les plats mis en cache doivent être complets
+	 * pour être sérialisés hors de toute session.
+	 */
+	@Override
+	@EntityGraph(attributePaths = "allergenes")
+	List<Plat> findAll();
+
+	@Override
+	@EntityGraph(attributePaths = "allergenes")
+	Optional<Plat> findById(String id);
+
+	/**
+	 * Plats disponibles, filtrés en base (index disponible, categorie) et réduits aux colonnes de la carte.
+	 */
+	List<PlatResume> findByDisponibleTrueOrderByCategorieAscNomAsc();
 }
 
@@ -0,0 +1,213 @@
+package com.isge.demo.restController;
+
+import com.isge.demo.dto.ChiffreAffairesJour;
+import com.isge.demo.dto.CommandesParStatut;
+import com.isge.demo.dto.SyntheseVentes;
+import com.isge.demo.dto.TableauDeBord;
+import com.isge.demo.dto.VentePlat;
+import com.isge.demo.service.AnalyseService;
+import com.isge.demo.service.TableauDeBordService;
+import com.isge.demo.exception.ErrorResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Contrôleur REST des analyses de ventes.
+ * Les points d'accès d'analyse portent sur une période de jours [debut, fin], bornes incluses,
+ * et renvoient des agrégats calculés par la base de données ; le tableau de bord est lu en mémoire.
+ *
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/analyses")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Analyse des ventes", description = "Chiffre d'affaires, plats les plus vendus, panier moyen et statuts des commandes")
+@Validated
+public class AnalyseRestController {
+    private static final int LIMITE_MAX = 100;
+
+    private final AnalyseService analyseService;
+    private final TableauDeBordService tableauDeBordService;
+
+    @Autowired
+    public AnalyseRestController(AnalyseService analyseService, TableauDeBordService tableauDeBordService) {
+        this.analyseService = analyseService;
+        this.tableauDeBordService = tableauDeBordService;
+    }
+
+    /**
+     * Indicateurs en direct, lus en mémoire.
+     *
+     * @return une réponse avec les commandes par statut et les ventes du jour
+     */
+    @Operation(
+        summary = "Tableau de bord",
+        description = "Commandes par statut, nombre de commandes, chiffre d'affaires et plats vendus du jour, "
+            + "tenus à jour en mémoire à chaque modification et recalculés périodiquement à partir de la base"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Indicateurs lus avec succès")
+    })
+    @GetMapping("/tableau-de-bord")
+    public ResponseEntity<TableauDeBord> getTableauDeBord() {
+        return ResponseEntity.ok(tableauDeBordService.tableauDeBord());
+    }
+
+    /**
+     * Synthèse des ventes d'une période.
+     *
+     * @param debut le premier jour de la période
+     * @param fin le dernier jour de la période
+     * @return une réponse avec le nombre de commandes, le chiffre d'affaires et le panier moyen
+     */
+    @Operation(
+        summary = "Synthèse des ventes",
+        description = "Nombre de commandes, chiffre d'affaires, panier moyen et nombre moyen de plats par commande"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Synthèse calculée avec succès"),
+        @ApiResponse(responseCode = "400", description = "Période invalide")
+    })
+    @GetMapping("/synthese")
+    public ResponseEntity<SyntheseVentes> getSynthese(
+        @Parameter(description = "Premier jour (AAAA-MM-JJ)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+        @Parameter(description = "Dernier jour, inclus (AAAA-MM-JJ)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin
+    ) {
+        return ResponseEntity.ok(analyseService.synthese(debut, fin));
+    }
+
+    /**
+     * Chiffre d'affaires jour par jour.
+     *
+     * @param debut le premier jour de la période
+     * @param fin le dernier jour de la période
+     * @return une réponse avec une ligne par jour ayant au moins une commande
+     */
+    @Operation(
+        summary = "Chiffre d'affaires par jour",
+        description = "Nombre de commandes et chiffre d'affaires de chaque jour de la période ayant au moins une commande"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Chiffre d'affaires calculé avec succès"),
+        @ApiResponse(responseCode = "400", description = "Période invalide")
+    })
+    @GetMapping("/chiffre-affaires")
+    public ResponseEntity<List<ChiffreAffairesJour>> getChiffreAffairesParJour(
+        @Parameter(description = "Premier jour (AAAA-MM-JJ)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+        @Parameter(description = "Dernier jour, inclus (AAAA-MM-JJ)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin
+    ) {
+        return ResponseEntity.ok(analyseService.chiffreAffairesParJour(debut, fin));
+    }
+
+    /**
+     * Plats les plus vendus d'une période.
+     *
+     * @param debut le premier jour de la période
+     * @param fin le dernier jour de la période
+     * @param limite le nombre de plats à retourner
+     * @return une réponse avec les plats, par quantité vendue décroissante
+     */
+    @Operation(
+        summary = "Plats les plus vendus",
+        description = "Quantité vendue et chiffre d'affaires (au prix actuel) des plats les plus commandés"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Classement calculé avec succès"),
+        @ApiResponse(responseCode = "400", description = "Période invalide")
+    })
+    @GetMapping("/plats")
+    public ResponseEntity<List<VentePlat>> getPlatsLesPlusVendus(
+        @Parameter(description = "Premier jour (AAAA-MM-JJ)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+        @Parameter(description = "Dernier jour, inclus (AAAA-MM-JJ)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin,
+        @Parameter(description = "Nombre de plats à retourner (100 au maximum)")
+        @RequestParam(defaultValue = "10") int limite
+    ) {
+        int limiteBornee = Math.max(1, Math.min(limite, LIMITE_MAX));
+        return ResponseEntity.ok(analyseService.platsLesPlusVendus(debut, fin, limiteBornee));
+    }
+
+    /**
+     * Nombre de commandes par statut.
+     *
+     * @param debut le premier jour de la période
+     * @param fin le dernier jour de la période
+     * @return une réponse avec une ligne par statut présent
+     */
+    @Operation(
+        summary = "Commandes par statut",
+        description = "Nombre de commandes de la période à chaque statut"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Répartition calculée avec succès"),
+        @ApiResponse(responseCode = "400", description = "Période invalide")
+    })
+    @GetMapping("/statuts")
+    public ResponseEntity<List<CommandesParStatut>> getCommandesParStatut(
+        @Parameter(description = "Premier jour (AAAA-MM-JJ)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate debut,
+        @Parameter(description = "Dernier jour, inclus (AAAA-MM-JJ)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fin
+    ) {
+        return ResponseEntity.ok(analyseService.commandesParStatut(debut, fin));
+    }
+
+    /**
+     * Gère les périodes invalides.
+     *
+     * @param ex L'exception lancée
+     * @return Une réponse contenant les détails de l'erreur
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            ex.getMessage(),
+            null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Gère les paramètres de requête absents ou mal formés.
+     *
+     * @param ex L'exception lancée
+     * @return Une réponse contenant les détails de l'erreur
+     */
+    @ExceptionHandler({MethodArgumentTypeMismatchException.class, MissingServletRequestParameterException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponse> handleParametreInvalide(Exception ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            ex instanceof MethodArgumentTypeMismatchException mismatch
+                ? "Valeur invalide pour le paramètre " + mismatch.getName()
+                : ex.getMessage(),
+            null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+}
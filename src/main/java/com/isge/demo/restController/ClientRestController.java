@@ -1,7 +1,12 @@
 package com.isge.demo.restController;
 
+import com.isge.demo.dto.ClientResume;
+import com.isge.demo.dto.CommandeResume;
+import com.isge.demo.dto.PageCurseur;
 import com.isge.demo.entity.Client;
 import com.isge.demo.service.ClientService;
+import com.isge.demo.service.CommandeService;
+import com.isge.demo.exception.ConflitException;
 import com.isge.demo.exception.ResourceNotFoundException;
 import com.isge.demo.exception.ErrorResponse;
 
@@ -38,11 +43,15 @@ import java.util.stream.Collectors;
 @Tag(name = "Gestion des Clients", description = "Opérations de gestion des clients")
 @Validated
 public class ClientRestController {
+    private static final int TAILLE_PAGE_MAX = 500;
+
     private final ClientService clientService;
+    private final CommandeService commandeService;
 
     @Autowired
-    public ClientRestController(ClientService clientService) {
+    public ClientRestController(ClientService clientService, CommandeService commandeService) {
         this.clientService = clientService;
+        this.commandeService = commandeService;
     }
 
     /**
@@ -52,15 +61,15 @@ public class ClientRestController {
      */
     @Operation(
         summary = "Récupérer tous les clients", 
-        description = "Retourne une liste complète de tous les clients enregistrés dans le système"
+        description = "Retourne tous les clients enregistrés dans le système, sans mot de passe ni historique de commandes"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Liste des clients récupérée avec succès"),
         @ApiResponse(responseCode = "204", description = "Aucun client trouvé")
     })
     @GetMapping
-    public ResponseEntity<List<Client>> getAllClients() {
-        List<Client> clientsList = clientService.allClients();
+    public ResponseEntity<List<ClientResume>> getAllClients() {
+        List<ClientResume> clientsList = clientService.allClients();
         if (clientsList.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
         }
@@ -83,11 +92,11 @@ public class ClientRestController {
         @ApiResponse(responseCode = "404", description = "Client non trouvé")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Client> getClientById(
+    public ResponseEntity<ClientResume> getClientById(
         @Parameter(description = "Identifiant unique du client", required = true) 
         @PathVariable String id
     ) {
-        Client client = clientService.readClient(id);
+        ClientResume client = clientService.readClientResume(id);
         if (client != null) {
             return ResponseEntity.ok(client);
         } else {
@@ -95,6 +104,38 @@ public class ClientRestController {
         }
     }
 
+    /**
+     * Récupère l'historique des commandes d'un client, de la plus récente à la plus ancienne.
+     *
+     * @param id l'identifiant du client
+     * @param curseur le curseur renvoyé par la page précédente (absent pour la première page)
+     * @param taille le nombre maximal de commandes à retourner
+     * @return une réponse avec la page de commandes et le curseur de la page suivante
+     * @throws ResourceNotFoundException si le client n'est pas trouvé
+     */
+    @Operation(
+        summary = "Historique des commandes d'un client",
+        description = "Pagination par curseur, des commandes les plus récentes aux plus anciennes : "
+            + "transmettre le curseurSuivant de la réponse pour obtenir la page suivante"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page de commandes récupérée avec succès"),
+        @ApiResponse(responseCode = "400", description = "Curseur invalide"),
+        @ApiResponse(responseCode = "404", description = "Client non trouvé")
+    })
+    @GetMapping("/{id}/commandes")
+    public ResponseEntity<PageCurseur<CommandeResume>> getCommandesClient(
+        @Parameter(description = "Identifiant unique du client", required = true)
+        @PathVariable String id,
+        @Parameter(description = "Curseur de la page précédente")
+        @RequestParam(required = false) String curseur,
+        @Parameter(description = "Nombre de commandes par page (500 au maximum)")
+        @RequestParam(defaultValue = "20") int taille
+    ) {
+        int tailleBornee = Math.max(1, Math.min(taille, TAILLE_PAGE_MAX));
+        return ResponseEntity.ok(commandeService.pageCommandesClient(id, curseur, tailleBornee));
+    }
+
     /**
      * Crée un nouveau client.
      *
@@ -108,10 +149,11 @@ public class ClientRestController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Client créé avec succès"),
-        @ApiResponse(responseCode = "400", description = "Requête invalide")
+        @ApiResponse(responseCode = "400", description = "Requête invalide"),
+        @ApiResponse(responseCode = "409", description = "Email déjà utilisé")
     })
     @PostMapping
-    public ResponseEntity<Client> createClient(
+    public ResponseEntity<ClientResume> createClient(
         @Parameter(description = "Détails du client à créer", required = true) 
         @Valid @RequestBody Client client,
         BindingResult bindingResult
@@ -122,7 +164,7 @@ public class ClientRestController {
         
         client.setId(null);
         Client savedClient = clientService.createClient(client);
-        return ResponseEntity.status(HttpStatus.CREATED).body(savedClient);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ClientResume.de(savedClient));
     }
 
     /**
@@ -141,10 +183,11 @@ public class ClientRestController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Client mis à jour avec succès"),
         @ApiResponse(responseCode = "404", description = "Client non trouvé"),
-        @ApiResponse(responseCode = "400", description = "Données invalides")
+        @ApiResponse(responseCode = "400", description = "Données invalides"),
+        @ApiResponse(responseCode = "409", description = "Email déjà utilisé")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Client> updateClient(
+    public ResponseEntity<ClientResume> updateClient(
         @Parameter(description = "Identifiant du client à mettre à jour", required = true) 
         @PathVariable String id, 
         @Parameter(description = "Nouvelles informations du client", required = true) 
@@ -158,7 +201,7 @@ public class ClientRestController {
         client.setId(id);
         Client updatedClient = clientService.updateClient(client);
         if (updatedClient != null) {
-            return ResponseEntity.ok(updatedClient);
+            return ResponseEntity.ok(ClientResume.de(updatedClient));
         } else {
             throw new ResourceNotFoundException("Client", "id", id);
         }
@@ -236,6 +279,42 @@ public class ClientRestController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * Gère les conflits d'unicité (email déjà utilisé).
+     * 
+     * @param ex L'exception lancée
+     * @return Une réponse contenant les détails de l'erreur
+     */
+    @ExceptionHandler(ConflitException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ErrorResponse> handleConflitException(ConflitException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            ex.getMessage(),
+            null
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Gère les arguments invalides (curseur de pagination).
+     * 
+     * @param ex L'exception lancée
+     * @return Une réponse contenant les détails de l'erreur
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            ex.getMessage(),
+            null
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Gère les exceptions générales.
      * 
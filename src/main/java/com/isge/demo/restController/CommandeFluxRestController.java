@@ -0,0 +1,58 @@
+package com.isge.demo.restController;
+
+import com.isge.demo.entity.StatutCommande;
+import com.isge.demo.service.CommandeFluxService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+/**
+ * Contrôleur SSE diffusant en temps réel les créations, modifications, changements de statut et suppressions des commandes,
+ * destiné aux écrans de cuisine en remplacement de l'interrogation périodique de /api/commandes.
+ *
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/commandes/flux")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Gestion des Commandes", description = "Opérations de gestion des commandes")
+public class CommandeFluxRestController {
+    private final CommandeFluxService commandeFluxService;
+
+    @Autowired
+    public CommandeFluxRestController(CommandeFluxService commandeFluxService) {
+        this.commandeFluxService = commandeFluxService;
+    }
+
+    /**
+     * Ouvre un flux Server-Sent Events des événements de commandes.
+     *
+     * @param statuts les statuts à suivre (tous si absent), avant ou après l'événement
+     * @param dernierEvenementId l'identifiant du dernier événement reçu, pour reprendre un flux interrompu
+     * @return le flux d'événements
+     */
+    @Operation(
+        summary = "Suivre les commandes en temps réel",
+        description = "Flux SSE des événements CREEE, MODIFIEE, STATUT_MODIFIE et SUPPRIMEE ; un abonné filtrant par statut "
+            + "reçoit aussi les commandes qui quittent ces statuts. L'en-tête Last-Event-ID permet de reprendre après une coupure"
+    )
+    @ApiResponse(responseCode = "200", description = "Flux d'événements ouvert")
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter abonner(
+        @Parameter(description = "Statuts à suivre, par exemple EN_ATTENTE,EN_PREPARATION")
+        @RequestParam(required = false, defaultValue = "") Set<StatutCommande> statuts,
+        @Parameter(description = "Identifiant du dernier événement reçu")
+        @RequestHeader(value = "Last-Event-ID", required = false) String dernierEvenementId
+    ) {
+        return commandeFluxService.abonner(statuts, dernierEvenementId);
+    }
+}
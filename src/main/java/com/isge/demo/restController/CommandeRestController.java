@@ -1,9 +1,18 @@
 package com.isge.demo.restController;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.isge.demo.dto.ChangementStatut;
+import com.isge.demo.dto.CommandeResume;
+import com.isge.demo.dto.PageCurseur;
+import com.isge.demo.dto.ResultatLot;
 import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Creneau;
 import com.isge.demo.service.CommandeService;
+import com.isge.demo.exception.ConflitException;
 import com.isge.demo.exception.ResourceNotFoundException;
 import com.isge.demo.exception.ErrorResponse;
+import com.isge.demo.exception.LotTropVolumineuxException;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,15 +21,30 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,11 +61,26 @@ import java.util.stream.Collectors;
 @Tag(name = "Gestion des Commandes", description = "Opérations de gestion des commandes")
 @Validated
 public class CommandeRestController {
+    private static final int TAILLE_PAGE_MAX = 500;
+    /** Séquence CBOR (RFC 8742) : éléments CBOR concaténés, l'équivalent binaire du NDJSON. */
+    private static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+
     private final CommandeService commandeService;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborMapper;
+    private final int taillePaquetLot;
+    private final int lignesMaxLot;
 
     @Autowired
-    public CommandeRestController(CommandeService commandeService) {
+    public CommandeRestController(CommandeService commandeService, ObjectMapper objectMapper,
+                                  MappingJackson2CborHttpMessageConverter cborConverter,
+                                  @Value("${commande.lot.taille-paquet:500}") int taillePaquetLot,
+                                  @Value("${commande.lot.lignes-max:10000}") int lignesMaxLot) {
         this.commandeService = commandeService;
+        this.objectMapper = objectMapper;
+        this.cborMapper = cborConverter.getObjectMapper();
+        this.taillePaquetLot = taillePaquetLot;
+        this.lignesMaxLot = lignesMaxLot;
     }
 
     /**
@@ -51,21 +90,172 @@ public class CommandeRestController {
      */
     @Operation(
         summary = "Récupérer toutes les commandes", 
-        description = "Retourne une liste complète de toutes les commandes enregistrées dans le système"
+        description = "Retourne le résumé de toutes les commandes (client réduit à son identifiant et son nom, nombre de plats)"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Liste des commandes récupérée avec succès"),
         @ApiResponse(responseCode = "204", description = "Aucune commande trouvée")
     })
     @GetMapping
-    public ResponseEntity<List<Commande>> getAllCommandes() {
-        List<Commande> commandesList = commandeService.allCommandes();
+    public ResponseEntity<List<CommandeResume>> getAllCommandes() {
+        List<CommandeResume> commandesList = commandeService.allCommandes();
         if (commandesList.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
         }
         return ResponseEntity.ok(commandesList);
     }
 
+    /**
+     * Exporte toutes les commandes au format NDJSON (une commande JSON par ligne).
+     * Les commandes sont lues en flux depuis la base et écrites au fil de l'eau,
+     * la mémoire consommée ne dépend donc pas du nombre de commandes.
+     *
+     * @return le flux des commandes
+     */
+    @Operation(
+        summary = "Exporter toutes les commandes en flux",
+        description = "Retourne toutes les commandes au format NDJSON lorsque l'en-tête Accept vaut application/x-ndjson"
+    )
+    @ApiResponse(responseCode = "200", description = "Flux des commandes")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCommandes() {
+        StreamingResponseBody corps = sortie -> commandeService.parcourirCommandes(commande -> {
+            try {
+                sortie.write(objectMapper.writeValueAsBytes(commande));
+                sortie.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(corps);
+    }
+
+    /**
+     * Exporte toutes les commandes en séquence CBOR (une commande CBOR après l'autre, sans séparateur),
+     * lues et écrites au fil de l'eau comme l'export NDJSON.
+     *
+     * @return le flux des commandes
+     */
+    @Operation(
+        summary = "Exporter toutes les commandes en flux CBOR",
+        description = "Retourne toutes les commandes en séquence CBOR (RFC 8742) lorsque l'en-tête Accept vaut application/cbor-seq"
+    )
+    @ApiResponse(responseCode = "200", description = "Flux des commandes")
+    @GetMapping(produces = APPLICATION_CBOR_SEQ_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCommandesCbor() {
+        StreamingResponseBody corps = sortie -> commandeService.parcourirCommandes(commande -> {
+            try {
+                sortie.write(cborMapper.writeValueAsBytes(commande));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(APPLICATION_CBOR_SEQ_VALUE))
+            .body(corps);
+    }
+
+    /**
+     * Récupère une page de commandes par pagination par curseur.
+     *
+     * @param curseur le curseur renvoyé par la page précédente (absent pour la première page)
+     * @param taille le nombre maximal de commandes à retourner
+     * @return une réponse avec la page de commandes et le curseur de la page suivante
+     */
+    @Operation(
+        summary = "Récupérer une page de commandes",
+        description = "Pagination par curseur : transmettre le curseurSuivant de la réponse pour obtenir la page suivante"
+    )
+    @ApiResponse(responseCode = "200", description = "Page de commandes récupérée avec succès")
+    @GetMapping("/page")
+    public ResponseEntity<PageCurseur<CommandeResume>> getPageCommandes(
+        @Parameter(description = "Curseur de la page précédente")
+        @RequestParam(required = false) String curseur,
+        @Parameter(description = "Nombre de commandes par page (500 au maximum)")
+        @RequestParam(defaultValue = "50") int taille
+    ) {
+        int tailleBornee = Math.max(1, Math.min(taille, TAILLE_PAGE_MAX));
+        return ResponseEntity.ok(commandeService.pageCommandes(curseur, tailleBornee));
+    }
+
+    /**
+     * Récupère une page des commandes ne contenant aucun plat portant l'un des allergènes.
+     *
+     * @param allergenes les allergènes à exclure
+     * @param curseur le curseur renvoyé par la page précédente, absent pour la première page
+     * @param taille le nombre de commandes par page
+     * @return une réponse avec la page de commandes et le curseur de la page suivante
+     */
+    @Operation(
+        summary = "Commandes sans allergènes",
+        description = "Pagination par curseur des commandes dont aucun plat ne contient les allergènes indiqués"
+    )
+    @ApiResponse(responseCode = "200", description = "Page de commandes récupérée avec succès")
+    @GetMapping("/sans-allergenes")
+    public ResponseEntity<PageCurseur<CommandeResume>> getPageCommandesSansAllergenes(
+        @Parameter(description = "Allergènes à exclure, séparés par des virgules", required = true)
+        @RequestParam List<String> allergenes,
+        @Parameter(description = "Curseur de la page précédente")
+        @RequestParam(required = false) String curseur,
+        @Parameter(description = "Nombre de commandes par page (500 au maximum)")
+        @RequestParam(defaultValue = "50") int taille
+    ) {
+        int tailleBornee = Math.max(1, Math.min(taille, TAILLE_PAGE_MAX));
+        return ResponseEntity.ok(commandeService.pageCommandesSansAllergenes(allergenes, curseur, tailleBornee));
+    }
+
+    /**
+     * Récupère les commandes d'une journée, éventuellement limitées à un créneau de service.
+     *
+     * @param jour la journée (format ISO, ex. 2024-01-31)
+     * @param creneau le créneau de service (toute la journée si absent)
+     * @return une réponse avec les commandes, par ordre chronologique
+     */
+    @Operation(
+        summary = "Commandes d'une journée",
+        description = "Retourne les commandes d'une journée, ou d'un créneau de service (MATIN, MIDI, APRES_MIDI, SOIR)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Commandes récupérées avec succès"),
+        @ApiResponse(responseCode = "400", description = "Date ou créneau invalide")
+    })
+    @GetMapping("/jour/{jour}")
+    public ResponseEntity<List<CommandeResume>> getCommandesDuJour(
+        @Parameter(description = "Journée au format ISO (AAAA-MM-JJ)", required = true)
+        @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate jour,
+        @Parameter(description = "Créneau de service")
+        @RequestParam(required = false) Creneau creneau
+    ) {
+        return ResponseEntity.ok(commandeService.commandesDuJour(jour, creneau));
+    }
+
+    /**
+     * Récupère les commandes passées dans une période.
+     *
+     * @param debut le début de la période (inclus)
+     * @param fin la fin de la période (exclue)
+     * @return une réponse avec les commandes, par ordre chronologique
+     */
+    @Operation(
+        summary = "Commandes d'une période",
+        description = "Retourne les commandes passées entre debut (inclus) et fin (exclue), au format ISO AAAA-MM-JJTHH:MM:SS"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Commandes récupérées avec succès"),
+        @ApiResponse(responseCode = "400", description = "Période invalide")
+    })
+    @GetMapping("/periode")
+    public ResponseEntity<List<CommandeResume>> getCommandesEntre(
+        @Parameter(description = "Début de la période (inclus)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime debut,
+        @Parameter(description = "Fin de la période (exclue)", required = true)
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fin
+    ) {
+        return ResponseEntity.ok(commandeService.commandesEntre(debut, fin));
+    }
+
     /**
      * Récupère une commande par son identifiant.
      *
@@ -124,6 +314,78 @@ public class CommandeRestController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedCommande);
     }
 
+    /**
+     * Crée un lot de commandes transmis sous forme de tableau JSON.
+     *
+     * @param commandes les commandes à créer
+     * @return une réponse avec le résultat de chaque commande, dans l'ordre du lot
+     */
+    @Operation(
+        summary = "Créer un lot de commandes",
+        description = "Valide et enregistre plusieurs commandes en une fois ; le résultat est donné commande par commande"
+    )
+    @ApiResponse(responseCode = "200", description = "Lot traité, voir le statut de chaque commande")
+    @PostMapping(value = "/lot", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ResultatLot>> createCommandesLot(
+        @Parameter(description = "Commandes à créer", required = true)
+        @RequestBody List<Commande> commandes
+    ) {
+        return ResponseEntity.ok(commandeService.createCommandes(commandes));
+    }
+
+    /**
+     * Crée un lot de commandes transmis au format NDJSON (une commande JSON par ligne).
+     * <p>
+     * Le corps est lu et enregistré par paquets de {@code commande.lot.taille-paquet} commandes, sans être
+     * chargé en entier en mémoire. Au-delà de {@code commande.lot.lignes-max} commandes, la lecture s'arrête :
+     * les paquets précédents restent enregistrés et leur nombre est indiqué dans la réponse 413.
+     *
+     * @param corps le corps de la requête
+     * @return une réponse avec le résultat de chaque commande, dans l'ordre du lot
+     * @throws IOException si le corps ne peut pas être lu
+     * @throws LotTropVolumineuxException si le lot dépasse le nombre de commandes accepté
+     */
+    @Operation(
+        summary = "Créer un lot de commandes (NDJSON)",
+        description = "Identique au lot JSON, avec une commande par ligne"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lot traité, voir le statut de chaque commande"),
+        @ApiResponse(responseCode = "413", description = "Lot trop volumineux, lecture interrompue")
+    })
+    @PostMapping(value = "/lot", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<ResultatLot>> createCommandesLotNdjson(InputStream corps) throws IOException {
+        List<ResultatLot> resultats = new ArrayList<>();
+        List<Commande> paquet = new ArrayList<>(taillePaquetLot);
+        try (MappingIterator<Commande> lecteur = objectMapper.readerFor(Commande.class).readValues(corps)) {
+            while (lecteur.hasNextValue()) {
+                if (resultats.size() + paquet.size() == lignesMaxLot) {
+                    throw new LotTropVolumineuxException(lignesMaxLot, resultats.size());
+                }
+                paquet.add(lecteur.nextValue());
+                if (paquet.size() == taillePaquetLot) {
+                    enregistrerPaquet(paquet, resultats);
+                }
+            }
+        }
+        enregistrerPaquet(paquet, resultats);
+        return ResponseEntity.ok(resultats);
+    }
+
+    /**
+     * Enregistre un paquet d'un lot NDJSON puis le vide ; les positions sont rapportées à l'ensemble du lot.
+     */
+    private void enregistrerPaquet(List<Commande> paquet, List<ResultatLot> resultats) {
+        if (paquet.isEmpty()) {
+            return;
+        }
+        int debut = resultats.size();
+        for (ResultatLot resultat : commandeService.createCommandes(paquet)) {
+            resultats.add(new ResultatLot(debut + resultat.index(), resultat.statut(), resultat.id(), resultat.message()));
+        }
+        paquet.clear();
+    }
+
     /**
      * Met à jour une commande existante.
      *
@@ -132,6 +394,7 @@ public class CommandeRestController {
      * @param bindingResult le résultat de la validation
      * @return une réponse avec la commande mise à jour
      * @throws ResourceNotFoundException si la commande n'est pas trouvée
+     * @throws ConflitException si le statut reçu diffère de celui de la commande
      */
     @Operation(
         summary = "Mettre à jour une commande", 
@@ -140,7 +403,8 @@ public class CommandeRestController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Commande mise à jour avec succès"),
         @ApiResponse(responseCode = "404", description = "Commande non trouvée"),
-        @ApiResponse(responseCode = "400", description = "Données invalides")
+        @ApiResponse(responseCode = "400", description = "Données invalides"),
+        @ApiResponse(responseCode = "409", description = "Statut différent de celui de la commande (utiliser PATCH /{id}/statut) ou version périmée")
     })
     @PutMapping("/{id}")
     public ResponseEntity<Commande> updateCommande(
@@ -163,6 +427,36 @@ public class CommandeRestController {
         }
     }
 
+    /**
+     * Fait passer une commande au statut suivant (EN_ATTENTE → EN_PREPARATION → PRETE → LIVREE).
+     *
+     * @param id l'identifiant de la commande
+     * @param changement le statut visé et, optionnellement, la version connue de la commande
+     * @return une réponse vide avec un statut 204 si le changement est appliqué
+     * @throws ResourceNotFoundException si la commande n'est pas trouvée
+     * @throws ConflitException si la commande n'est pas au statut précédent ou a été modifiée entre-temps
+     */
+    @Operation(
+        summary = "Changer le statut d'une commande",
+        description = "Applique une transition de statut sans réécrire la commande ; seule l'étape suivante est autorisée"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Statut modifié avec succès"),
+        @ApiResponse(responseCode = "400", description = "Statut visé invalide"),
+        @ApiResponse(responseCode = "404", description = "Commande non trouvée"),
+        @ApiResponse(responseCode = "409", description = "Statut actuel ou version incompatible")
+    })
+    @PatchMapping("/{id}/statut")
+    public ResponseEntity<Void> changerStatut(
+        @Parameter(description = "Identifiant de la commande", required = true)
+        @PathVariable String id,
+        @Parameter(description = "Statut visé et version connue", required = true)
+        @RequestBody ChangementStatut changement
+    ) {
+        commandeService.changerStatut(id, changement.statut(), changement.version());
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Supprime une commande par son identifiant.
      *
@@ -235,6 +529,98 @@ public class CommandeRestController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * Gère les conflits de statut ou de version.
+     * 
+     * @param ex L'exception lancée
+     * @return Une réponse contenant les détails de l'erreur
+     */
+    @ExceptionHandler({ConflitException.class, ObjectOptimisticLockingFailureException.class})
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ErrorResponse> handleConflitException(RuntimeException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            ex instanceof ConflitException ? ex.getMessage() : "La commande a été modifiée entre-temps",
+            null
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Gère les lots NDJSON dépassant le nombre de commandes accepté.
+     * 
+     * @param ex L'exception lancée
+     * @return Une réponse contenant les détails de l'erreur
+     */
+    @ExceptionHandler(LotTropVolumineuxException.class)
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public ResponseEntity<ErrorResponse> handleLotTropVolumineuxException(LotTropVolumineuxException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.PAYLOAD_TOO_LARGE.value(),
+            ex.getMessage(),
+            Map.of("traitees", String.valueOf(ex.getTraitees()))
+        );
+        
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse);
+    }
+
+    /**
+     * Gère les requêtes invalides.
+     * 
+     * @param ex L'exception lancée
+     * @return Une réponse contenant les détails de l'erreur
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            ex.getMessage(),
+            null
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Gère les paramètres de requête ou de chemin mal formés (date, créneau).
+     * 
+     * @param ex L'exception lancée
+     * @return Une réponse contenant les détails de l'erreur
+     */
+    @ExceptionHandler({MethodArgumentTypeMismatchException.class, MissingServletRequestParameterException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponse> handleParametreInvalide(Exception ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            ex instanceof MethodArgumentTypeMismatchException mismatch
+                ? "Valeur invalide pour le paramètre " + mismatch.getName()
+                : ex.getMessage(),
+            null
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Gère les corps de requête illisibles (JSON mal formé, statut inconnu).
+     * 
+     * @param ex L'exception lancée
+     * @return Une réponse contenant les détails de l'erreur
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponse> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Corps de la requête invalide",
+            null
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Gère les exceptions générales.
      * 
@@ -1,7 +1,10 @@
 package com.isge.demo.restController;
 
+import com.isge.demo.dto.MenuResume;
+import com.isge.demo.dto.MenuVue;
 import com.isge.demo.entity.Menu;
 import com.isge.demo.service.MenuService;
+import com.isge.demo.service.MenuVueService;
 import com.isge.demo.exception.ResourceNotFoundException;
 import com.isge.demo.exception.ErrorResponse;
 
@@ -18,7 +21,10 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import javax.validation.Valid;
 import java.util.HashMap;
@@ -38,10 +44,15 @@ import java.util.stream.Collectors;
 @Validated
 public class MenuRestController {
     private final MenuService menuService;
+    private final ReponsesCatalogue reponsesCatalogue;
+    private final MenuVueService menuVueService;
 
     @Autowired
-    public MenuRestController(MenuService menuService) {
+    public MenuRestController(MenuService menuService, ReponsesCatalogue reponsesCatalogue,
+                              MenuVueService menuVueService) {
         this.menuService = menuService;
+        this.reponsesCatalogue = reponsesCatalogue;
+        this.menuVueService = menuVueService;
     }
 
     /**
@@ -51,19 +62,22 @@ public class MenuRestController {
      */
     @Operation(
         summary = "Récupérer tous les menus", 
-        description = "Retourne une liste complète de tous les menus disponibles dans le système"
+        description = "Retourne le résumé de tous les menus (nombre de plats) ; le détail des plats est donné par GET /api/menus/{id}"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Liste des menus récupérée avec succès"),
-        @ApiResponse(responseCode = "204", description = "Aucun menu trouvé")
+        @ApiResponse(responseCode = "204", description = "Aucun menu trouvé"),
+        @ApiResponse(responseCode = "304", description = "Catalogue inchangé depuis la version indiquée par If-None-Match"),
     })
     @GetMapping
-    public ResponseEntity<List<Menu>> getAllMenus() {
-        List<Menu> menusList = menuService.allMenus();
-        if (menusList.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
-        }
-        return ResponseEntity.ok(menusList);
+    public ResponseEntity<List<MenuResume>> getAllMenus(WebRequest request) {
+        return reponsesCatalogue.repondre(request, ok -> {
+            List<MenuResume> menusList = menuService.allMenus();
+            if (menusList.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+            }
+            return ok.body(menusList);
+        });
     }
 
     /**
@@ -94,6 +108,61 @@ public class MenuRestController {
         }
     }
 
+    /**
+     * Récupère la composition d'un menu : plats disponibles, allergènes et prix.
+     *
+     * @param id l'identifiant du menu
+     * @return une réponse avec la vue du menu s'il existe
+     * @throws ResourceNotFoundException si le menu n'est pas trouvé
+     */
+    @Operation(
+        summary = "Composition d'un menu",
+        description = "Retourne les plats disponibles du menu, l'union de leurs allergènes et le prix effectif, "
+            + "précalculés : aucun appel à /api/plats/{id} n'est nécessaire"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Composition trouvée avec succès"),
+        @ApiResponse(responseCode = "304", description = "Catalogue inchangé depuis la version indiquée par If-None-Match"),
+        @ApiResponse(responseCode = "404", description = "Menu non trouvé")
+    })
+    @GetMapping("/{id}/composition")
+    public ResponseEntity<MenuVue> getCompositionMenu(
+        @Parameter(description = "Identifiant unique du menu", required = true)
+        @PathVariable String id,
+        WebRequest request
+    ) {
+        return reponsesCatalogue.repondre(request, ok -> {
+            MenuVue vue = menuVueService.menuVue(id);
+            if (vue == null) {
+                throw new ResourceNotFoundException("Menu", "id", id);
+            }
+            return ok.body(vue);
+        });
+    }
+
+    /**
+     * Récupère les menus dont aucun plat ne contient les allergènes indiqués.
+     *
+     * @param allergenes les allergènes à exclure
+     * @return une réponse avec la composition des menus, triés par nom
+     */
+    @Operation(
+        summary = "Menus sans allergènes",
+        description = "Retourne la composition des menus dont aucun plat, disponible ou non, ne contient les allergènes indiqués"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Menus filtrés avec succès"),
+        @ApiResponse(responseCode = "304", description = "Catalogue inchangé depuis la version indiquée par If-None-Match")
+    })
+    @GetMapping("/sans-allergenes")
+    public ResponseEntity<List<MenuVue>> getMenusSansAllergenes(
+        @Parameter(description = "Allergènes à exclure, séparés par des virgules", required = true)
+        @RequestParam List<String> allergenes,
+        WebRequest request
+    ) {
+        return reponsesCatalogue.repondre(request, ok -> ok.body(menuVueService.menusSans(allergenes)));
+    }
+
     /**
      * Crée un nouveau menu.
      *
@@ -235,6 +304,26 @@ public class MenuRestController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * Gère les paramètres de requête absents ou mal formés (allergènes).
+     *
+     * @param ex L'exception lancée
+     * @return Une réponse contenant les détails de l'erreur
+     */
+    @ExceptionHandler({MethodArgumentTypeMismatchException.class, MissingServletRequestParameterException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponse> handleParametreInvalide(Exception ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            ex instanceof MethodArgumentTypeMismatchException mismatch
+                ? "Valeur invalide pour le paramètre " + mismatch.getName()
+                : ex.getMessage(),
+            null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Gère les exceptions générales.
      * 
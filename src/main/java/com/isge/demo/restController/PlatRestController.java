@@ -1,6 +1,8 @@
 package com.isge.demo.restController;
 
+import com.isge.demo.dto.PlatResume;
 import com.isge.demo.entity.Plat;
+import com.isge.demo.service.IndexAllergenesService;
 import com.isge.demo.service.PlatService;
 import com.isge.demo.exception.ResourceNotFoundException;
 import com.isge.demo.exception.ErrorResponse;
@@ -18,7 +20,10 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import javax.validation.Valid;
 import java.util.HashMap;
@@ -39,10 +44,15 @@ import java.util.stream.Collectors;
 @Validated
 public class PlatRestController {
     private final PlatService platService;
+    private final ReponsesCatalogue reponsesCatalogue;
+    private final IndexAllergenesService indexAllergenesService;
 
     @Autowired
-    public PlatRestController(PlatService platService) {
+    public PlatRestController(PlatService platService, ReponsesCatalogue reponsesCatalogue,
+                              IndexAllergenesService indexAllergenesService) {
         this.platService = platService;
+        this.reponsesCatalogue = reponsesCatalogue;
+        this.indexAllergenesService = indexAllergenesService;
     }
 
     /**
@@ -56,15 +66,18 @@ public class PlatRestController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Liste des plats récupérée avec succès"),
-        @ApiResponse(responseCode = "204", description = "Aucun plat trouvé")
+        @ApiResponse(responseCode = "204", description = "Aucun plat trouvé"),
+        @ApiResponse(responseCode = "304", description = "Catalogue inchangé depuis la version indiquée par If-None-Match"),
     })
     @GetMapping
-    public ResponseEntity<List<Plat>> getAllPlats() {
-        List<Plat> platList = platService.allPlats();
-        if (platList.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
-        }
-        return ResponseEntity.ok(platList);
+    public ResponseEntity<List<Plat>> getAllPlats(WebRequest request) {
+        return reponsesCatalogue.repondre(request, ok -> {
+            List<Plat> platList = platService.allPlats();
+            if (platList.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+            }
+            return ok.body(platList);
+        });
     }
 
     /**
@@ -198,22 +211,49 @@ public class PlatRestController {
      */
     @Operation(
         summary = "Récupérer les plats disponibles", 
-        description = "Retourne une liste des plats marqués comme disponibles"
+        description = "Retourne l'identifiant, le nom, le prix et la catégorie des plats marqués comme disponibles"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Liste des plats disponibles récupérée avec succès"),
-        @ApiResponse(responseCode = "204", description = "Aucun plat disponible trouvé")
+        @ApiResponse(responseCode = "204", description = "Aucun plat disponible trouvé"),
+        @ApiResponse(responseCode = "304", description = "Catalogue inchangé depuis la version indiquée par If-None-Match"),
     })
     @GetMapping("/disponibles")
-    public ResponseEntity<List<Plat>> getPlatsDisponibles() {
-        List<Plat> platsDisponibles = platService.allPlats().stream()
-            .filter(Plat::isDisponible)
-            .collect(Collectors.toList());
-            
-        if (platsDisponibles.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
-        }
-        return ResponseEntity.ok(platsDisponibles);
+    public ResponseEntity<List<PlatResume>> getPlatsDisponibles(WebRequest request) {
+        return reponsesCatalogue.repondre(request, ok -> {
+            List<PlatResume> platsDisponibles = platService.platsDisponibles();
+
+            if (platsDisponibles.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+            }
+            return ok.body(platsDisponibles);
+        });
+    }
+
+    /**
+     * Récupère les plats ne contenant aucun des allergènes indiqués.
+     *
+     * @param allergenes les allergènes à exclure
+     * @param disponibles si seuls les plats disponibles sont retournés
+     * @return une réponse avec les plats, triés par catégorie puis par nom
+     */
+    @Operation(
+        summary = "Plats sans allergènes",
+        description = "Retourne les plats qui ne contiennent aucun des allergènes indiqués, à partir d'un index en mémoire"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Plats filtrés avec succès"),
+        @ApiResponse(responseCode = "304", description = "Catalogue inchangé depuis la version indiquée par If-None-Match")
+    })
+    @GetMapping("/sans-allergenes")
+    public ResponseEntity<List<PlatResume>> getPlatsSansAllergenes(
+        @Parameter(description = "Allergènes à exclure, séparés par des virgules", required = true)
+        @RequestParam List<String> allergenes,
+        @Parameter(description = "Ne retourner que les plats disponibles")
+        @RequestParam(defaultValue = "true") boolean disponibles,
+        WebRequest request
+    ) {
+        return reponsesCatalogue.repondre(request, ok -> ok.body(indexAllergenesService.platsSans(allergenes, disponibles)));
     }
 
     /**
@@ -259,6 +299,26 @@ public class PlatRestController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * Gère les paramètres de requête absents ou mal formés (allergènes, disponibilité).
+     *
+     * @param ex L'exception lancée
+     * @return Une réponse contenant les détails de l'erreur
+     */
+    @ExceptionHandler({MethodArgumentTypeMismatchException.class, MissingServletRequestParameterException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponse> handleParametreInvalide(Exception ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            ex instanceof MethodArgumentTypeMismatchException mismatch
+                ? "Valeur invalide pour le paramètre " + mismatch.getName()
+                : ex.getMessage(),
+            null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Gère les exceptions générales.
      * 
@@ -0,0 +1,110 @@
+package com.isge.demo.restController;
+
+import com.isge.demo.dto.PageRecherche;
+import com.isge.demo.dto.ResultatRecherche;
+import com.isge.demo.exception.ErrorResponse;
+import com.isge.demo.service.RechercheService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+/**
+ * Contrôleur REST de la recherche plein texte sur la carte (plats et menus).
+ *
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/api/recherche")
+@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Tag(name = "Recherche", description = "Recherche plein texte dans les plats et les menus")
+public class RechercheRestController {
+    private static final int TAILLE_MAX = 100;
+
+    private final RechercheService rechercheService;
+
+    @Autowired
+    public RechercheRestController(RechercheService rechercheService) {
+        this.rechercheService = rechercheService;
+    }
+
+    /**
+     * Recherche des plats et des menus par nom, description ou catégorie.
+     *
+     * @param q le texte recherché
+     * @param type le type de résultat (plats ou menus) ; tous si absent
+     * @param page le numéro de page, à partir de 0
+     * @param taille le nombre de résultats par page
+     * @return une réponse avec la page de résultats, du plus pertinent au moins pertinent
+     */
+    @Operation(
+        summary = "Rechercher dans la carte",
+        description = "Chaque mot doit apparaître dans le nom, la description ou la catégorie, en entier, "
+            + "en début de mot ou avec une faute de frappe ; accents et majuscules sont ignorés"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recherche effectuée avec succès"),
+        @ApiResponse(responseCode = "400", description = "Paramètres invalides")
+    })
+    @GetMapping
+    public ResponseEntity<PageRecherche> rechercher(
+        @Parameter(description = "Texte recherché", required = true)
+        @RequestParam String q,
+        @Parameter(description = "PLAT ou MENU")
+        @RequestParam(required = false) ResultatRecherche.Type type,
+        @Parameter(description = "Numéro de page, à partir de 0")
+        @RequestParam(defaultValue = "0") int page,
+        @Parameter(description = "Nombre de résultats par page (100 au maximum)")
+        @RequestParam(defaultValue = "20") int taille
+    ) {
+        int tailleBornee = Math.max(1, Math.min(taille, TAILLE_MAX));
+        return ResponseEntity.ok(rechercheService.rechercher(q, type, page, tailleBornee));
+    }
+
+    /**
+     * Gère les pages hors limites.
+     *
+     * @param ex L'exception lancée
+     * @return Une réponse contenant les détails de l'erreur
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            ex.getMessage(),
+            null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Gère les paramètres de requête absents ou mal formés.
+     *
+     * @param ex L'exception lancée
+     * @return Une réponse contenant les détails de l'erreur
+     */
+    @ExceptionHandler({MethodArgumentTypeMismatchException.class, MissingServletRequestParameterException.class})
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ErrorResponse> handleParametreInvalide(Exception ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            ex instanceof MethodArgumentTypeMismatchException mismatch
+                ? "Valeur invalide pour le paramètre " + mismatch.getName()
+                : ex.getMessage(),
+            null
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+}
@@ -0,0 +1,50 @@
+package com.isge.demo.restController;
+
+import com.isge.demo.service.VersionCatalogueService;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Function;
+
+/**
+ * Réponses conditionnelles des lectures du catalogue (plats et menus), dont l'ETag est la version du catalogue.
+ */
+@Component
+class ReponsesCatalogue {
+    /** Les listes du catalogue peuvent être gardées par le client, mais revalidées à chaque affichage. */
+    private static final CacheControl REVALIDATION = CacheControl.noCache().cachePrivate();
+
+    private final VersionCatalogueService versionCatalogueService;
+
+    ReponsesCatalogue(VersionCatalogueService versionCatalogueService) {
+        this.versionCatalogueService = versionCatalogueService;
+    }
+
+    /**
+     * Répond 304 si l'en-tête {@code If-None-Match} porte la version actuelle du catalogue : la réponse n'est
+     * alors ni lue en base ni sérialisée. Sinon, {@code reponse} construit la réponse à partir d'un 200
+     * portant déjà l'ETag et les en-têtes {@code Cache-Control} et {@code Vary}.
+     * <p>
+     * Un même ETag couvrant les représentations JSON et CBOR, les réponses varient selon {@code Accept}.
+     */
+    <T> ResponseEntity<T> repondre(WebRequest request, Function<ResponseEntity.BodyBuilder, ResponseEntity<T>> reponse) {
+        String etag = etagCatalogue();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATION).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return reponse.apply(ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATION).varyBy(HttpHeaders.ACCEPT));
+    }
+
+    /**
+     * ETag faible : la même version du catalogue est envoyée en JSON ou en CBOR, compressée ou non.
+     * Tomcat ne compresse pas les réponses portant un ETag fort.
+     */
+    private String etagCatalogue() {
+        return "W/\"" + versionCatalogueService.version() + "\"";
+    }
+}
@@ -1,66 +1,104 @@
 package com.isge.demo.security;
 
 import com.isge.demo.entity.Client;
-import com.isge.demo.repository.ClientRepository;
+import com.isge.demo.exception.ConflitException;
+import com.isge.demo.exception.ErrorResponse;
+import com.isge.demo.service.ClientService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthentificationController {
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private HachageMotDePasse hachageMotDePasse;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private ClientService clientService;
 
+    // Exécuteur des tâches de l'application (threads virtuels avec le profil "virtual")
     @Autowired
-    private ClientRepository clientRepository;
+    @Qualifier("applicationTaskExecutor")
+    private Executor executor;
 
+    /**
+     * La vérification BCrypt est faite par {@link HachageMotDePasse} : le thread de la requête est libéré
+     * pendant le calcul et la réponse est envoyée à la fin de celui-ci.
+     */
     @PostMapping("/login")
-    public ResponseEntity<?> createAuthenticationToken(@RequestBody AuthentificationRequest authentificationRequest) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(authentificationRequest.getEmail(), authentificationRequest.getPassword())
-        );
-
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(authentificationRequest.getEmail());
-        final String jwt = jwtUtil.generateToken(userDetails);
-
-        return ResponseEntity.ok(new AuthentificationResponse(jwt));
+    public CompletableFuture<ResponseEntity<?>> createAuthenticationToken(@RequestBody AuthentificationRequest authentificationRequest) {
+        return hachageMotDePasse
+                .authentifier(authentificationRequest.getEmail(), authentificationRequest.getPassword())
+                .thenApply(userDetails -> ResponseEntity.ok(new AuthentificationResponse(jwtUtil.generateToken(userDetails))));
     }
 
+    /**
+     * L'unicité de l'email est vérifiée par la contrainte de la base lors de l'insertion. Seul le hachage
+     * occupe le pool BCrypt : l'insertion est faite ensuite sur l'exécuteur de l'application.
+     */
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@RequestBody RegisterRequest registerRequest) {
-        // Vérifie si l'utilisateur existe déjà
-        if (clientRepository.findByEmail(registerRequest.getEmail()).isPresent()) {
-            return ResponseEntity.badRequest().body(new RegisterResponse("Erreur : L'email est déjà utilisé."));
-        }
+    public CompletableFuture<ResponseEntity<?>> registerUser(@RequestBody RegisterRequest registerRequest) {
         String ROLE=registerRequest.getRole();
         String ROLED="ROLE_"+ROLE;
 
-        // Crée un nouvel utilisateur
-        Client client = new Client();
-        client.setNom(registerRequest.getNom());
-        client.setEmail(registerRequest.getEmail());
-        client.setPassword(passwordEncoder.encode(registerRequest.getPassword())); // Hash le mot de passe
-        client.setAdresse(registerRequest.getAdresse());
-        client.setRole(ROLED); // Définit le rôle par défaut comme "CLIENT"
+        // Hash le mot de passe hors du thread de la requête
+        return hachageMotDePasse.encoder(registerRequest.getPassword()).thenApplyAsync(password -> {
+            // Crée un nouvel utilisateur
+            Client client = new Client();
+            client.setNom(registerRequest.getNom());
+            client.setEmail(registerRequest.getEmail());
+            client.setPassword(password);
+            client.setAdresse(registerRequest.getAdresse());
+            client.setRole(ROLED); // Définit le rôle par défaut comme "CLIENT"
+
+            // Sauvegarde l'utilisateur dans la base de données
+            try {
+                clientService.createClient(client);
+            } catch (ConflitException e) {
+                return ResponseEntity.badRequest().body(new RegisterResponse("Erreur : L'email est déjà utilisé."));
+            }
 
-        // Sauvegarde l'utilisateur dans la base de données
-        clientRepository.save(client);
+            return ResponseEntity.ok(new RegisterResponse("Utilisateur enregistré avec succès !"));
+        }, executor);
+    }
+
+    /**
+     * Pool de hachage saturé : le client est invité à réessayer plus tard.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Trop de demandes d'authentification, réessayez plus tard",
+            null
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, hachageMotDePasse.getReessayerApres().toSeconds())))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ErrorResponse> handleAuthenticationException(AuthenticationException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.UNAUTHORIZED.value(),
+            "Email ou mot de passe incorrect",
+            null
+        );
 
-        return ResponseEntity.ok(new RegisterResponse("Utilisateur enregistré avec succès !"));
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errorResponse);
     }
-}
\ No newline at end of file
+}
@@ -16,6 +16,10 @@ public class CustomUserDetails implements UserDetails {
         this.client = client;
     }
 
+    public String getClientId() {
+        return client.getId();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singletonList(new SimpleGrantedAuthority(client.getRole()));
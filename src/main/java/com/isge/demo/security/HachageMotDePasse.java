@@ -0,0 +1,116 @@
+package com.isge.demo.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécute les opérations BCrypt (vérification à la connexion, hachage à l'inscription) sur un pool de threads
+ * dédié et borné, hors des threads de Tomcat : un afflux de connexions ne peut pas priver les autres requêtes
+ * (commandes, menus) de threads.
+ * <p>
+ * Lorsque la file d'attente du pool est pleine, la tâche est refusée immédiatement par une
+ * {@link RejectedExecutionException} (réponse 503). Les tentatives de connexion identiques et simultanées
+ * (même email, même mot de passe) partagent une seule vérification.
+ */
+@Component
+public class HachageMotDePasse {
+
+    private final AuthenticationManager authenticationManager;
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration reessayerApres;
+
+    private final ConcurrentMap<Tentative, CompletableFuture<UserDetails>> connexionsEnCours = new ConcurrentHashMap<>();
+
+    public HachageMotDePasse(AuthenticationManager authenticationManager,
+                             PasswordEncoder passwordEncoder,
+                             @Value("${auth.hachage.threads:2}") int threads,
+                             @Value("${auth.hachage.file-max:100}") int fileMax,
+                             @Value("${auth.hachage.reessayer-apres:1s}") Duration reessayerApres) {
+        this.authenticationManager = authenticationManager;
+        this.passwordEncoder = passwordEncoder;
+        this.reessayerApres = reessayerApres;
+        AtomicInteger numero = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fileMax),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "hachage-" + numero.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Vérifie les identifiants d'un utilisateur.
+     *
+     * @return l'utilisateur authentifié ; le futur échoue avec une {@code AuthenticationException} si les identifiants sont invalides
+     * @throws RejectedExecutionException si la file d'attente du pool est pleine
+     */
+    public CompletableFuture<UserDetails> authentifier(String email, String password) {
+        Tentative tentative = new Tentative(email, password);
+        CompletableFuture<UserDetails> verification = new CompletableFuture<>();
+        CompletableFuture<UserDetails> enCours = connexionsEnCours.putIfAbsent(tentative, verification);
+        if (enCours != null) {
+            return enCours;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    verification.complete((UserDetails) authenticationManager
+                            .authenticate(new UsernamePasswordAuthenticationToken(email, password))
+                            .getPrincipal());
+                } catch (RuntimeException e) {
+                    verification.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Les tentatives qui ont rejoint celle-ci entre-temps sont refusées de la même façon
+            verification.completeExceptionally(e);
+            connexionsEnCours.remove(tentative, verification);
+            throw e;
+        }
+        // Le résultat n'est partagé que pendant la vérification : les tentatives suivantes en refont une
+        verification.whenComplete((utilisateur, erreur) -> connexionsEnCours.remove(tentative, verification));
+        return verification;
+    }
+
+    /**
+     * Hache un mot de passe avec le {@link PasswordEncoder} de l'application.
+     *
+     * @throws RejectedExecutionException si la file d'attente du pool est pleine
+     */
+    public CompletableFuture<String> encoder(String password) {
+        return CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), executor);
+    }
+
+    /**
+     * Délai conseillé au client (en-tête {@code Retry-After}) lorsque sa demande a été refusée.
+     */
+    public Duration getReessayerApres() {
+        return reessayerApres;
+    }
+
+    @PreDestroy
+    public void arreter() {
+        executor.shutdownNow();
+    }
+
+    private record Tentative(String email, String password) {
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -24,22 +25,23 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private JwtTokenCache jwtTokenCache;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7);
+            // Un jeton déjà vérifié est résolu sans nouveau parsing ni accès à la base
+            UserDetails userDetails = jwtTokenCache.get(jwt);
+            if (userDetails == null) {
+                userDetails = verifierJeton(jwt);
+            }
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -48,4 +50,26 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    private UserDetails verifierJeton(String jwt) {
+        long marque = jwtTokenCache.marque();
+        JwtValidation validation = jwtUtil.validate(jwt);
+        if (!validation.valid()) {
+            return null;
+        }
+        UserDetails userDetails;
+        try {
+            userDetails = this.userDetailsService.loadUserByUsername(validation.getUsername());
+        } catch (UsernameNotFoundException e) {
+            // Client supprimé ou email modifié depuis l'émission du jeton
+            return null;
+        }
+        if (!validation.getUsername().equals(userDetails.getUsername())) {
+            return null;
+        }
+        if (userDetails instanceof CustomUserDetails customUserDetails) {
+            jwtTokenCache.put(jwt, customUserDetails, validation.getExpiration(), marque);
+        }
+        return userDetails;
+    }
 }
\ No newline at end of file
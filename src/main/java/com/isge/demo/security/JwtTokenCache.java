@@ -0,0 +1,99 @@
+package com.isge.demo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache borné des jetons JWT déjà vérifiés, associés à l'utilisateur résolu.
+ * Une entrée expire à l'expiration du jeton (claim {@code exp}) ou au plus tard après {@code jwt.cache.duree-max}.
+ * Les jetons sans claim {@code exp} ne sont pas mis en cache.
+ */
+@Component
+public class JwtTokenCache {
+
+    private final Cache<String, JetonVerifie> cache;
+
+    // Incrémenté à chaque invalidation : une vérification commencée avant ne peut plus remplir le cache
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public JwtTokenCache(@Value("${jwt.cache.taille-max:10000}") long tailleMax,
+                         @Value("${jwt.cache.duree-max:15m}") Duration dureeMax) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tailleMax)
+                .expireAfter(new ExpirationJeton(dureeMax))
+                .build();
+    }
+
+    /**
+     * @return l'utilisateur associé au jeton s'il a déjà été vérifié et n'a pas expiré, sinon {@code null}
+     */
+    public CustomUserDetails get(String jwt) {
+        JetonVerifie jeton = cache.getIfPresent(jwt);
+        return jeton != null ? jeton.userDetails() : null;
+    }
+
+    /**
+     * Marque à relever avant de charger l'utilisateur d'un jeton, puis à passer à
+     * {@link #put(String, CustomUserDetails, Date, long)}.
+     */
+    public long marque() {
+        return invalidations.get();
+    }
+
+    /**
+     * Met en cache un jeton vérifié, sauf s'il n'a pas d'expiration ou si une invalidation a eu lieu
+     * depuis {@code marque} : l'utilisateur chargé peut alors porter l'ancien état du client.
+     */
+    public void put(String jwt, CustomUserDetails userDetails, Date expiration, long marque) {
+        if (expiration == null) {
+            return;
+        }
+        cache.put(jwt, new JetonVerifie(userDetails, expiration.getTime()));
+        // Une invalidation concurrente a pu parcourir le cache juste avant cet ajout
+        if (invalidations.get() != marque) {
+            cache.invalidate(jwt);
+        }
+    }
+
+    /**
+     * Retire tous les jetons d'un client, à appeler lorsque celui-ci est modifié ou supprimé.
+     */
+    public void invalider(String clientId) {
+        invalidations.incrementAndGet();
+        cache.asMap().values().removeIf(jeton -> clientId.equals(jeton.userDetails().getClientId()));
+    }
+
+    private record JetonVerifie(CustomUserDetails userDetails, long expirationMillis) {
+    }
+
+    private static final class ExpirationJeton implements Expiry<String, JetonVerifie> {
+        private final long dureeMaxNanos;
+
+        private ExpirationJeton(Duration dureeMax) {
+            this.dureeMaxNanos = dureeMax.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String jwt, JetonVerifie jeton, long currentTime) {
+            long restantNanos = Duration.ofMillis(jeton.expirationMillis() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(restantNanos, dureeMaxNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String jwt, JetonVerifie jeton, long currentTime, long currentDuration) {
+            return expireAfterCreate(jwt, jeton, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String jwt, JetonVerifie jeton, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
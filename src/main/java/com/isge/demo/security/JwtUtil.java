@@ -1,9 +1,13 @@
 package com.isge.demo.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -17,8 +21,19 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
 
-    private static final String SECRET_KEY = "votre_secret_key_tres_longue_et_securisee_sans_caracteres_speciaux"; // Changez cette clé pour la production
-    private static final long EXPIRATION_TIME = 864_000_000; // 10 jours
+    // Clé et parser construits une seule fois : le JwtParser est immuable et thread-safe
+    private final Key key;
+    private final JwtParser parser;
+    private final long expirationTime;
+
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.expiration:864000000}") long expirationTime) {
+        this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.expirationTime = expirationTime;
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -34,17 +49,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        // Utilisation de la clé correctement générée pour parser le token
-        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -53,20 +58,36 @@ public class JwtUtil {
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
-        // Utilisation de la clé correctement générée pour signer le token
-        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
-        
+        long maintenant = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
+                .setIssuedAt(new Date(maintenant))
+                .setExpiration(new Date(maintenant + expirationTime))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Vérifie la signature et l'expiration du jeton en un seul parsing.
+     *
+     * @return les claims du jeton et le résultat de la validation ; les claims sont absents
+     *         si le jeton est illisible ou mal signé
+     */
+    public JwtValidation validate(String token) {
+        try {
+            // parseClaimsJws rejette déjà les jetons expirés
+            Claims claims = extractAllClaims(token);
+            return new JwtValidation(claims, claims.getSubject() != null);
+        } catch (ExpiredJwtException e) {
+            return new JwtValidation(e.getClaims(), false);
+        } catch (JwtException | IllegalArgumentException e) {
+            return new JwtValidation(null, false);
+        }
+    }
+
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        JwtValidation validation = validate(token);
+        return validation.valid() && validation.getUsername().equals(userDetails.getUsername());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package com.isge.demo.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+/**
+ * Résultat de la validation d'un jeton JWT : ses claims et sa validité, obtenus en un seul parsing.
+ */
+public record JwtValidation(Claims claims, boolean valid) {
+
+    public String getUsername() {
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    public Date getExpiration() {
+        return claims != null ? claims.getExpiration() : null;
+    }
+}
@@ -1,7 +1,10 @@
 package com.isge.demo.security;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -29,6 +32,8 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf().disable()
             .authorizeHttpRequests(auth -> auth
+                // Fin des réponses asynchrones (flux NDJSON, SSE) : la requête d'origine a déjà été autorisée
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(
                     "/api/auth/**", // Authentification accessible
                     "/swagger-ui/**", // Swagger accessible
@@ -40,8 +45,11 @@ public class SecurityConfig {
                     "/api/contact" // Autre endpoint public
                 ).permitAll() // Ces chemins sont accessibles sans authentification
                 .requestMatchers("/api/menus").hasAnyRole("CLIENT", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/menus/*/composition", "/api/menus/sans-allergenes").hasAnyRole("CLIENT", "ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/recherche").hasAnyRole("CLIENT", "ADMIN")
                 .requestMatchers("/api/commandes/**").hasAnyRole("CLIENT", "ADMIN")
                 .requestMatchers("/api/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/**").hasRole("ADMIN") // Métriques réservées aux administrateurs
                 .anyRequest().authenticated() // Tous les autres chemins nécessitent une authentification
             )
             .sessionManagement(session -> session
@@ -0,0 +1,16 @@
+package com.isge.demo.service;
+
+import com.isge.demo.dto.ChiffreAffairesJour;
+import com.isge.demo.dto.CommandesParStatut;
+import com.isge.demo.dto.SyntheseVentes;
+import com.isge.demo.dto.VentePlat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AnalyseService {
+    SyntheseVentes synthese(LocalDate debut, LocalDate fin);
+    List<ChiffreAffairesJour> chiffreAffairesParJour(LocalDate debut, LocalDate fin);
+    List<VentePlat> platsLesPlusVendus(LocalDate debut, LocalDate fin, int limite);
+    List<CommandesParStatut> commandesParStatut(LocalDate debut, LocalDate fin);
+}
@@ -1,13 +1,15 @@
 package com.isge.demo.service;
 
+import com.isge.demo.dto.ClientResume;
 import com.isge.demo.entity.Client;
 
 import java.util.List;
 
 public interface ClientService {
     Client createClient(Client client);
-    List<Client> allClients();
+    List<ClientResume> allClients();
     Client readClient(String id);
+    ClientResume readClientResume(String id);
     Client updateClient(Client client);
     void deleteClient(String id);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.isge.demo.service;
+
+import com.isge.demo.entity.StatutCommande;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+public interface CommandeFluxService {
+    SseEmitter abonner(Set<StatutCommande> statuts, String dernierEvenementId);
+}
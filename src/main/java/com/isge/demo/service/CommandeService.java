@@ -1,14 +1,31 @@
 package com.isge.demo.service;
 
 
+import com.isge.demo.dto.CommandeResume;
+import com.isge.demo.dto.PageCurseur;
+import com.isge.demo.dto.ResultatLot;
 import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Creneau;
+import com.isge.demo.entity.StatutCommande;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CommandeService {
     Commande createCommande(Commande commande);
-    List<Commande> allCommandes();
+    List<ResultatLot> createCommandes(List<Commande> commandes);
+    List<CommandeResume> allCommandes();
+    PageCurseur<CommandeResume> pageCommandes(String curseur, int taille);
+    PageCurseur<CommandeResume> pageCommandesSansAllergenes(Collection<String> allergenes, String curseur, int taille);
+    PageCurseur<CommandeResume> pageCommandesClient(String clientId, String curseur, int taille);
+    List<CommandeResume> commandesEntre(LocalDateTime debut, LocalDateTime fin);
+    List<CommandeResume> commandesDuJour(LocalDate jour, Creneau creneau);
+    void parcourirCommandes(Consumer<Commande> consommateur);
     Commande readCommande(String id);
     Commande updateCommande(Commande commande);
+    void changerStatut(String id, StatutCommande statut, Long version);
     void deleteCommande(String id);
 }
@@ -0,0 +1,17 @@
+package com.isge.demo.service;
+
+import com.isge.demo.dto.PlatResume;
+import com.isge.demo.entity.Plat;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface IndexAllergenesService {
+    List<PlatResume> platsSans(Collection<String> allergenes, boolean disponiblesSeulement);
+    List<String> menusSans(Collection<String> allergenes);
+    Set<String> platsAvec(Collection<String> allergenes);
+    void platModifie(Plat plat);
+    void platSupprime(String platId);
+    void menuModifie(String menuId);
+}
@@ -1,12 +1,13 @@
 package com.isge.demo.service;
 
+import com.isge.demo.dto.MenuResume;
 import com.isge.demo.entity.Menu;
 
 import java.util.List;
 
 public interface MenuService {
     Menu createMenu(Menu menu);
-    List<Menu> allMenus();
+    List<MenuResume> allMenus();
     Menu readMenu(String id);
     Menu updateMenu(Menu menu);
     void deleteMenu(String id);
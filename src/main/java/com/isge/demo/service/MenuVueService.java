@@ -0,0 +1,13 @@
+package com.isge.demo.service;
+
+import com.isge.demo.dto.MenuVue;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MenuVueService {
+    MenuVue menuVue(String id);
+    List<MenuVue> menusSans(Collection<String> allergenes);
+    void menuModifie(String menuId);
+    void platModifie(String platId);
+}
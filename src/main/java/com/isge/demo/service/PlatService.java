@@ -1,5 +1,6 @@
 package com.isge.demo.service;
 
+import com.isge.demo.dto.PlatResume;
 import com.isge.demo.entity.Plat;
 
 import java.util.List;
@@ -7,6 +8,7 @@ import java.util.List;
 public interface PlatService {
     Plat createPlat(Plat plat);
     List<Plat> allPlats();
+    List<PlatResume> platsDisponibles();
     Plat readPlat(String id);
     Plat updatePlat(Plat plat);
     void deletePlat(String id);
@@ -0,0 +1,14 @@
+package com.isge.demo.service;
+
+import com.isge.demo.dto.PageRecherche;
+import com.isge.demo.dto.ResultatRecherche;
+import com.isge.demo.entity.Menu;
+import com.isge.demo.entity.Plat;
+
+public interface RechercheService {
+    PageRecherche rechercher(String texte, ResultatRecherche.Type type, int page, int taille);
+    void platModifie(Plat plat);
+    void platSupprime(String platId);
+    void menuModifie(Menu menu);
+    void menuSupprime(String menuId);
+}
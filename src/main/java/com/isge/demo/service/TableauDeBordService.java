@@ -0,0 +1,7 @@
+package com.isge.demo.service;
+
+import com.isge.demo.dto.TableauDeBord;
+
+public interface TableauDeBordService {
+    TableauDeBord tableauDeBord();
+}
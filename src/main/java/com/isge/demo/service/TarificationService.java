@@ -0,0 +1,16 @@
+package com.isge.demo.service;
+
+import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Plat;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Calcule côté serveur le prix total des commandes à partir des prix des plats référencés.
+ */
+public interface TarificationService {
+    Map<String, Plat> resoudrePlats(Collection<Commande> commandes);
+    void tarifer(Commande commande, Map<String, Plat> plats);
+    void tarifer(Commande commande);
+}
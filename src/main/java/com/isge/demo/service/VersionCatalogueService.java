@@ -0,0 +1,6 @@
+package com.isge.demo.service;
+
+public interface VersionCatalogueService {
+    String version();
+    void incrementer();
+}
@@ -0,0 +1,79 @@
+package com.isge.demo.service.implementation;
+
+import com.isge.demo.config.CacheConfig;
+import com.isge.demo.dto.ChiffreAffairesJour;
+import com.isge.demo.dto.CommandesParStatut;
+import com.isge.demo.dto.SyntheseVentes;
+import com.isge.demo.dto.VentePlat;
+import com.isge.demo.repository.AnalyseRepository;
+import com.isge.demo.service.AnalyseService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Analyse des ventes sur une période de jours [debut, fin] (bornes incluses).
+ * Les agrégats sont calculés par la base ; les résultats sont gardés en cache quelques secondes
+ * ({@code cache.analyse.duree}) pour absorber les rafraîchissements répétés des tableaux de bord.
+ */
+@Service
+public class AnalyseServiceImpl implements AnalyseService {
+
+    @Autowired
+    private AnalyseRepository analyseRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ANALYSES, key = "{#root.methodName, #debut, #fin}")
+    public SyntheseVentes synthese(LocalDate debut, LocalDate fin) {
+        LocalDateTime du = debut(debut, fin);
+        LocalDateTime au = fin(fin);
+        long nombreCommandes = analyseRepository.compterCommandes(du, au);
+        BigDecimal chiffreAffaires = analyseRepository.chiffreAffaires(du, au).setScale(2, RoundingMode.HALF_UP);
+        if (nombreCommandes == 0) {
+            return new SyntheseVentes(debut, fin, 0, chiffreAffaires, chiffreAffaires, 0);
+        }
+        long platsVendus = analyseRepository.compterPlatsVendus(du, au);
+        return new SyntheseVentes(debut, fin, nombreCommandes, chiffreAffaires,
+                chiffreAffaires.divide(BigDecimal.valueOf(nombreCommandes), 2, RoundingMode.HALF_UP),
+                (double) platsVendus / nombreCommandes);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.ANALYSES, key = "{#root.methodName, #debut, #fin}")
+    public List<ChiffreAffairesJour> chiffreAffairesParJour(LocalDate debut, LocalDate fin) {
+        return analyseRepository.chiffreAffairesParJour(debut(debut, fin), fin(fin));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.ANALYSES, key = "{#root.methodName, #debut, #fin, #limite}")
+    public List<VentePlat> platsLesPlusVendus(LocalDate debut, LocalDate fin, int limite) {
+        return analyseRepository.platsLesPlusVendus(debut(debut, fin), fin(fin), Limit.of(limite));
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.ANALYSES, key = "{#root.methodName, #debut, #fin}")
+    public List<CommandesParStatut> commandesParStatut(LocalDate debut, LocalDate fin) {
+        return analyseRepository.commandesParStatut(debut(debut, fin), fin(fin));
+    }
+
+    private static LocalDateTime debut(LocalDate debut, LocalDate fin) {
+        if (fin.isBefore(debut)) {
+            throw new IllegalArgumentException("La fin de la période doit être postérieure ou égale à son début");
+        }
+        return debut.atStartOfDay();
+    }
+
+    private static LocalDateTime fin(LocalDate fin) {
+        return fin.plusDays(1).atStartOfDay();
+    }
+}
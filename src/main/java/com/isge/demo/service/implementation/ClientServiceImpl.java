@@ -1,10 +1,17 @@
 package com.isge.demo.service.implementation;
 
+import com.isge.demo.config.CacheConfig;
+import com.isge.demo.dto.ClientResume;
 import com.isge.demo.entity.Client;
+import com.isge.demo.exception.ConflitException;
 import com.isge.demo.repository.ClientRepository;
+import com.isge.demo.security.JwtTokenCache;
 import com.isge.demo.service.ClientService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,14 +23,29 @@ public class ClientServiceImpl implements ClientService {
     @Autowired
     private ClientRepository clientRepository;
 
+    @Autowired
+    private JwtTokenCache jwtTokenCache;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Enregistre un client en une seule insertion : l'unicité de l'email est garantie par la contrainte
+     * {@code uk_client_email}, sans vérification préalable.
+     *
+     * @throws ConflitException si l'email est déjà utilisé
+     */
     @Override
     public Client createClient(Client client) {
-        return clientRepository.save(client);
+        Client savedClient = enregistrer(client);
+        // L'email pouvait être en cache comme inconnu
+        invaliderEmail(savedClient.getEmail());
+        return savedClient;
     }
 
     @Override
-    public List<Client> allClients() {
-        return clientRepository.findAll();
+    public List<ClientResume> allClients() {
+        return clientRepository.findAllProjectedBy();
     }
 
     @Override
@@ -32,16 +54,45 @@ public class ClientServiceImpl implements ClientService {
         return optionalClient.orElse(null);
     }
 
+    @Override
+    public ClientResume readClientResume(String id) {
+        return clientRepository.findResumeById(id).orElse(null);
+    }
+
     @Override
     public Client updateClient(Client client) {
-        if (clientRepository.existsById(client.getId())) {
-            return clientRepository.save(client);
+        Optional<String> ancienEmail = clientRepository.findEmailById(client.getId());
+        if (ancienEmail.isPresent()) {
+            Client updatedClient = enregistrer(client);
+            invaliderEmail(ancienEmail.get());
+            invaliderEmail(updatedClient.getEmail());
+            // Les jetons déjà vérifiés portent l'ancien état du client (email, rôle, mot de passe)
+            jwtTokenCache.invalider(client.getId());
+            return updatedClient;
         }
         return null; // Ou vous pouvez lever une exception si le client n'existe pas
     }
 
     @Override
     public void deleteClient(String id) {
+        Optional<String> email = clientRepository.findEmailById(id);
         clientRepository.deleteById(id);
+        email.ifPresent(this::invaliderEmail);
+        jwtTokenCache.invalider(id);
+    }
+
+    private Client enregistrer(Client client) {
+        try {
+            return clientRepository.saveAndFlush(client);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflitException("L'email est déjà utilisé : " + client.getEmail());
+        }
+    }
+
+    private void invaliderEmail(String email) {
+        Cache cache = cacheManager.getCache(CacheConfig.CLIENT_PAR_EMAIL);
+        if (cache != null && email != null) {
+            cache.evict(email);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,177 @@
+package com.isge.demo.service.implementation;
+
+import com.isge.demo.entity.StatutCommande;
+import com.isge.demo.event.CommandeEvenement;
+import com.isge.demo.service.CommandeFluxService;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Diffuse les événements de commandes aux abonnés Server-Sent Events.
+ * <p>
+ * Les derniers événements sont conservés dans un tampon borné pour permettre la reprise
+ * d'un abonné à partir de son {@code Last-Event-ID}. Les identifiants sont préfixés par l'instant de démarrage,
+ * comme la version du catalogue : un identifiant émis avant un redémarrage, ou inconnu, provoque une
+ * resynchronisation au lieu d'un rejeu partiel. Les envois sont faits par un unique thread
+ * dédié, ce qui préserve l'ordre des événements sans bloquer le thread qui a modifié la commande.
+ */
+@Service
+public class CommandeFluxServiceImpl implements CommandeFluxService {
+
+    private final long timeoutMillis;
+    private final int tailleHistorique;
+
+    private final String demarrage = Long.toString(System.currentTimeMillis(), 36);
+    private final Deque<EvenementNumerote> historique = new ArrayDeque<>();
+    private final List<Abonne> abonnes = new CopyOnWriteArrayList<>();
+    private final ExecutorService envois = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "commande-flux");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long dernierId;
+
+    public CommandeFluxServiceImpl(@Value("${commande.flux.timeout:30m}") Duration timeout,
+                                   @Value("${commande.flux.taille-historique:1000}") int tailleHistorique) {
+        this.timeoutMillis = timeout.toMillis();
+        this.tailleHistorique = tailleHistorique;
+    }
+
+    /**
+     * Abonne un client au flux, en lui renvoyant d'abord les événements manqués depuis {@code dernierEvenementId}.
+     *
+     * @param statuts            statuts à recevoir (tous si vide)
+     * @param dernierEvenementId identifiant du dernier événement reçu, ou {@code null} pour un nouvel abonnement
+     */
+    @Override
+    public SseEmitter abonner(Set<StatutCommande> statuts, String dernierEvenementId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Abonne abonne = new Abonne(emitter, statuts);
+        emitter.onCompletion(() -> abonnes.remove(abonne));
+        emitter.onTimeout(() -> abonnes.remove(abonne));
+        emitter.onError(erreur -> abonnes.remove(abonne));
+
+        synchronized (historique) {
+            // Rejeu et inscription sous le même verrou que la publication : aucun événement n'est perdu entre les deux
+            if (dernierEvenementId != null) {
+                List<EvenementNumerote> manques = new ArrayList<>();
+                long dernierRecu = numero(dernierEvenementId);
+                // Incomplet si l'identifiant vient d'un autre processus ou est inconnu,
+                // ou si les événements suivants ont quitté le tampon
+                boolean complet = dernierRecu >= 0 && dernierRecu <= dernierId
+                        && (historique.isEmpty() || historique.peekFirst().id() <= dernierRecu + 1);
+                if (dernierRecu >= 0) {
+                    for (EvenementNumerote evenement : historique) {
+                        if (evenement.id() > dernierRecu) {
+                            manques.add(evenement);
+                        }
+                    }
+                }
+                envois.execute(() -> {
+                    if (!complet) {
+                        // Des événements ont été perdus : le client doit recharger les commandes
+                        envoyer(abonne, SseEmitter.event().name("RESYNCHRONISATION").data(""));
+                    }
+                    manques.forEach(evenement -> envoyerSiAbonne(abonne, evenement));
+                });
+            }
+            abonnes.add(abonne);
+        }
+        return emitter;
+    }
+
+    /**
+     * Diffuse chaque événement de commande : création, modification du contenu (le statut ne change que par
+     * transition), changement de statut et suppression, que les écrans traitent comme un retrait.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publier(CommandeEvenement evenement) {
+        synchronized (historique) {
+            EvenementNumerote numerote = new EvenementNumerote(++dernierId, evenement);
+            historique.addLast(numerote);
+            if (historique.size() > tailleHistorique) {
+                historique.removeFirst();
+            }
+            List<Abonne> destinataires = List.copyOf(abonnes);
+            envois.execute(() -> destinataires.forEach(abonne -> envoyerSiAbonne(abonne, numerote)));
+        }
+    }
+
+    /**
+     * Commentaire SSE périodique, pour que les proxies ne coupent pas les connexions inactives.
+     */
+    @Scheduled(fixedDelayString = "${commande.flux.battement:15s}")
+    public void battement() {
+        envois.execute(() -> abonnes.forEach(abonne -> envoyer(abonne, SseEmitter.event().comment("battement"))));
+    }
+
+    @PreDestroy
+    public void arreter() {
+        envois.shutdownNow();
+        abonnes.forEach(abonne -> abonne.emitter().complete());
+    }
+
+    /**
+     * Un abonné filtrant par statut reçoit aussi les événements qui font sortir une commande de l'un de ses statuts
+     * (transition vers un autre statut, suppression), pour la retirer de son écran.
+     */
+    private void envoyerSiAbonne(Abonne abonne, EvenementNumerote numerote) {
+        CommandeEvenement evenement = numerote.evenement();
+        if (!abonne.statuts().isEmpty() && !abonne.statuts().contains(evenement.statut())
+                && !abonne.statuts().contains(evenement.statutPrecedent())) {
+            return;
+        }
+        envoyer(abonne, SseEmitter.event()
+                .id(demarrage + "-" + numerote.id())
+                .name(evenement.type().name())
+                .data(evenement));
+    }
+
+    /**
+     * Numéro d'un identifiant d'événement émis par ce processus, ou -1 s'il vient d'un autre démarrage ou est mal formé.
+     */
+    private long numero(String evenementId) {
+        String prefixe = demarrage + "-";
+        if (!evenementId.startsWith(prefixe)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(evenementId.substring(prefixe.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void envoyer(Abonne abonne, SseEmitter.SseEventBuilder message) {
+        try {
+            abonne.emitter().send(message);
+        } catch (IOException | IllegalStateException e) {
+            // Client déconnecté
+            abonnes.remove(abonne);
+            abonne.emitter().completeWithError(e);
+        }
+    }
+
+    private record EvenementNumerote(long id, CommandeEvenement evenement) {
+    }
+
+    private record Abonne(SseEmitter emitter, Set<StatutCommande> statuts) {
+    }
+}
@@ -1,14 +1,50 @@
 package com.isge.demo.service.implementation;
 
+import com.isge.demo.dto.CommandeResume;
+import com.isge.demo.dto.PageCurseur;
+import com.isge.demo.dto.ResultatLot;
+import com.isge.demo.entity.Client;
 import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Creneau;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.entity.StatutCommande;
+import com.isge.demo.event.CommandeEvenement;
+import com.isge.demo.event.EtatCommande;
+import com.isge.demo.exception.ConflitException;
+import com.isge.demo.exception.ResourceNotFoundException;
+import com.isge.demo.repository.ClientRepository;
 import com.isge.demo.repository.CommandeRepository;
 import com.isge.demo.service.CommandeService;
+import com.isge.demo.service.IndexAllergenesService;
+import com.isge.demo.service.TarificationService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CommandeServiceImpl implements CommandeService {
@@ -16,14 +52,250 @@ public class CommandeServiceImpl implements CommandeService {
     @Autowired
     private CommandeRepository commandeRepository;
 
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TarificationService tarificationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private IndexAllergenesService indexAllergenesService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${commande.lot.taille-paquet:500}")
+    private int taillePaquet;
+
+    @Value("${commande.export.taille-paquet:100}")
+    private int taillePaquetExport;
+
+    /**
+     * Les événements sont publiés dans la transaction de l'écriture, comme pour toutes les écritures de commandes :
+     * le tableau de bord les numérote avant la validation (voir {@link TableauDeBordServiceImpl}).
+     */
     @Override
+    @Transactional
     public Commande createCommande(Commande commande) {
-        return commandeRepository.save(commande);
+        preparerCreation(commande);
+        tarificationService.tarifer(commande);
+        Commande savedCommande = commandeRepository.save(commande);
+        eventPublisher.publishEvent(CommandeEvenement.creee(savedCommande));
+        return savedCommande;
+    }
+
+    /**
+     * Enregistre un lot de commandes. Les plats et clients référencés par l'ensemble du lot sont résolus
+     * en deux requêtes, puis les commandes valides sont insérées par paquets, chacun dans sa propre
+     * transaction (insertions regroupées par le batching JDBC d'Hibernate).
+     *
+     * @return le résultat de chaque commande, dans l'ordre du lot
+     */
+    @Override
+    public List<ResultatLot> createCommandes(List<Commande> commandes) {
+        ResultatLot[] resultats = new ResultatLot[commandes.size()];
+        Map<String, Plat> plats = tarificationService.resoudrePlats(
+                commandes.stream().filter(Objects::nonNull).toList());
+        Map<String, Client> clients = resoudreClients(commandes);
+
+        List<Integer> valides = new ArrayList<>();
+        for (int i = 0; i < commandes.size(); i++) {
+            Commande commande = commandes.get(i);
+            if (commande == null) {
+                resultats[i] = ResultatLot.rejetee(i, "Commande vide");
+                continue;
+            }
+            try {
+                if (commande.getClient() != null) {
+                    if (commande.getClient().getId() == null) {
+                        resultats[i] = ResultatLot.rejetee(i, "Client référencé sans identifiant");
+                        continue;
+                    }
+                    Client client = clients.get(commande.getClient().getId());
+                    if (client == null) {
+                        throw new ResourceNotFoundException("Client", "id", commande.getClient().getId());
+                    }
+                    commande.setClient(client);
+                }
+                tarificationService.tarifer(commande, plats);
+                commande.setId(null);
+                preparerCreation(commande);
+                valides.add(i);
+            } catch (ResourceNotFoundException | IllegalArgumentException e) {
+                resultats[i] = ResultatLot.rejetee(i, e.getMessage());
+            }
+        }
+
+        for (int debut = 0; debut < valides.size(); debut += taillePaquet) {
+            List<Integer> paquet = valides.subList(debut, Math.min(debut + taillePaquet, valides.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    commandeRepository.saveAll(paquet.stream().map(commandes::get).toList());
+                    entityManager.flush();
+                    // Libère le contexte de persistance entre deux paquets
+                    entityManager.clear();
+                    paquet.forEach(i -> eventPublisher.publishEvent(CommandeEvenement.creee(commandes.get(i))));
+                });
+                paquet.forEach(i -> resultats[i] = ResultatLot.creee(i, commandes.get(i).getId()));
+            } catch (RuntimeException e) {
+                paquet.forEach(i -> resultats[i] = ResultatLot.echec(i, e.getMessage()));
+            }
+        }
+        return Arrays.asList(resultats);
+    }
+
+    private void preparerCreation(Commande commande) {
+        commande.setVersion(null);
+        if (commande.getDate() == null) {
+            commande.setDate(LocalDateTime.now());
+        }
+        if (commande.getStatut() == null) {
+            commande.setStatut(StatutCommande.EN_ATTENTE);
+        }
+    }
+
+    private Map<String, Client> resoudreClients(List<Commande> commandes) {
+        Set<String> ids = commandes.stream()
+                .filter(commande -> commande != null && commande.getClient() != null)
+                .map(commande -> commande.getClient().getId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return clientRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Client::getId, client -> client));
+    }
+
+    @Override
+    public List<CommandeResume> allCommandes() {
+        return commandeRepository.findResumes();
+    }
+
+    @Override
+    public PageCurseur<CommandeResume> pageCommandes(String curseur, int taille) {
+        // On lit un élément de plus que demandé pour savoir s'il existe une page suivante
+        Limit limit = Limit.of(taille + 1);
+        List<CommandeResume> commandes = (curseur == null || curseur.isBlank())
+                ? commandeRepository.findResumes(limit)
+                : commandeRepository.findResumesApres(curseur, limit);
+        return pageParIdentifiant(commandes, taille);
+    }
+
+    /**
+     * Commandes ne contenant aucun plat qui porte l'un des allergènes, par pagination par curseur sur l'identifiant.
+     * Les plats concernés sont trouvés dans l'index des allergènes ; la base ne filtre que sur leurs identifiants.
+     */
+    @Override
+    public PageCurseur<CommandeResume> pageCommandesSansAllergenes(Collection<String> allergenes, String curseur, int taille) {
+        Set<String> platIds = indexAllergenesService.platsAvec(allergenes);
+        if (platIds.isEmpty()) {
+            return pageCommandes(curseur, taille);
+        }
+        Limit limit = Limit.of(taille + 1);
+        List<CommandeResume> commandes = (curseur == null || curseur.isBlank())
+                ? commandeRepository.findResumesSansPlats(platIds, limit)
+                : commandeRepository.findResumesSansPlatsApres(platIds, curseur, limit);
+        return pageParIdentifiant(commandes, taille);
+    }
+
+    /**
+     * Page à partir de {@code taille + 1} commandes lues : l'élément en trop signale une page suivante.
+     */
+    private static PageCurseur<CommandeResume> pageParIdentifiant(List<CommandeResume> commandes, int taille) {
+        if (commandes.size() <= taille) {
+            return new PageCurseur<>(commandes, null);
+        }
+        List<CommandeResume> page = commandes.subList(0, taille);
+        return new PageCurseur<>(page, page.get(taille - 1).id());
+    }
+
+    /**
+     * Historique d'un client, du plus récent au plus ancien, par pagination par curseur sur (date, identifiant).
+     *
+     * @throws ResourceNotFoundException si le client n'existe pas
+     * @throws IllegalArgumentException  si le curseur est invalide
+     */
+    @Override
+    public PageCurseur<CommandeResume> pageCommandesClient(String clientId, String curseur, int taille) {
+        if (!clientRepository.existsById(clientId)) {
+            throw new ResourceNotFoundException("Client", "id", clientId);
+        }
+        Limit limit = Limit.of(taille + 1);
+        List<CommandeResume> commandes;
+        if (curseur == null || curseur.isBlank()) {
+            commandes = commandeRepository.findResumesParClient(clientId, limit);
+        } else {
+            CurseurHistorique position = CurseurHistorique.decoder(curseur);
+            commandes = commandeRepository.findResumesParClientAvant(clientId, position.date(), position.id(), limit);
+        }
+
+        if (commandes.size() <= taille) {
+            return new PageCurseur<>(commandes, null);
+        }
+        List<CommandeResume> page = commandes.subList(0, taille);
+        CommandeResume derniere = page.get(taille - 1);
+        return new PageCurseur<>(page, new CurseurHistorique(derniere.date(), derniere.id()).encoder());
+    }
+
+    /**
+     * @throws IllegalArgumentException si la fin de l'intervalle n'est pas postérieure à son début
+     */
+    @Override
+    public List<CommandeResume> commandesEntre(LocalDateTime debut, LocalDateTime fin) {
+        if (!fin.isAfter(debut)) {
+            throw new IllegalArgumentException("La fin de la période doit être postérieure à son début");
+        }
+        return commandeRepository.findResumesEntre(debut, fin);
+    }
+
+    /**
+     * Commandes d'une journée, ou d'un seul créneau de cette journée si {@code creneau} est renseigné.
+     */
+    @Override
+    public List<CommandeResume> commandesDuJour(LocalDate jour, Creneau creneau) {
+        if (creneau == null) {
+            return commandeRepository.findResumesEntre(jour.atStartOfDay(), jour.plusDays(1).atStartOfDay());
+        }
+        return commandeRepository.findResumesEntre(creneau.debut(jour), creneau.fin(jour));
     }
 
+    /**
+     * Parcourt les commandes par paquets de {@code commande.export.taille-paquet} : les commandes et leur client
+     * sont lus en flux, les plats d'un paquet en une requête (et leurs allergènes par lots), puis le contexte
+     * de persistance est vidé avant le paquet suivant. Le nombre de requêtes et la mémoire consommée
+     * ne dépendent que de la taille des paquets.
+     */
     @Override
-    public List<Commande> allCommandes() {
-        return commandeRepository.findAll();
+    @Transactional(readOnly = true)
+    public void parcourirCommandes(Consumer<Commande> consommateur) {
+        List<Commande> paquet = new ArrayList<>(taillePaquetExport);
+        try (Stream<Commande> commandes = commandeRepository.streamAll()) {
+            commandes.forEach(commande -> {
+                paquet.add(commande);
+                if (paquet.size() == taillePaquetExport) {
+                    traiterPaquet(paquet, consommateur);
+                }
+            });
+        }
+        traiterPaquet(paquet, consommateur);
+    }
+
+    private void traiterPaquet(List<Commande> paquet, Consumer<Commande> consommateur) {
+        if (paquet.isEmpty()) {
+            return;
+        }
+        commandeRepository.chargerPlats(paquet.stream().map(Commande::getId).toList());
+        paquet.forEach(consommateur);
+        paquet.clear();
+        // Libère les commandes du paquet ainsi que leurs clients, plats et allergènes
+        entityManager.clear();
     }
 
     @Override
@@ -32,16 +304,104 @@ public class CommandeServiceImpl implements CommandeService {
         return optionalCommande.orElse(null);
     }
 
+    /**
+     * Remplace le contenu d'une commande. Le statut ne change que par {@link #changerStatut}.
+     *
+     * @throws ConflitException si le corps porte un statut différent de celui de la commande
+     */
     @Override
+    @Transactional
     public Commande updateCommande(Commande commande) {
-        if (commandeRepository.existsById(commande.getId())) {
-            return commandeRepository.save(commande);
+        Optional<Commande> existante = commandeRepository.findById(commande.getId());
+        if (existante.isPresent()) {
+            if (commande.getStatut() != null && commande.getStatut() != existante.get().getStatut()) {
+                throw new ConflitException("La commande " + commande.getId() + " est au statut "
+                        + existante.get().getStatut() + " ; son statut se change via PATCH /api/commandes/"
+                        + commande.getId() + "/statut");
+            }
+            // Copié avant l'enregistrement, qui recopie la commande reçue sur l'entité chargée
+            EtatCommande avant = EtatCommande.de(existante.get());
+            // Sans version fournie, la mise à jour s'applique à la version actuelle
+            if (commande.getVersion() == null) {
+                commande.setVersion(existante.get().getVersion());
+            }
+            // Date et statut absents du corps : ceux de la commande sont conservés (la date sert de curseur à l'historique)
+            if (commande.getDate() == null) {
+                commande.setDate(existante.get().getDate() != null ? existante.get().getDate() : LocalDateTime.now());
+            }
+            if (commande.getStatut() == null) {
+                commande.setStatut(existante.get().getStatut());
+            }
+            tarificationService.tarifer(commande);
+            Commande savedCommande = commandeRepository.save(commande);
+            eventPublisher.publishEvent(CommandeEvenement.modifiee(savedCommande, avant));
+            return savedCommande;
         }
         return null; // Ou lever une exception si la commande n'existe pas
     }
 
+    /**
+     * Fait avancer une commande au statut suivant par une seule mise à jour conditionnelle.
+     *
+     * @throws IllegalArgumentException si le statut visé ne peut être atteint par aucune transition
+     * @throws ResourceNotFoundException si la commande n'existe pas
+     * @throws ConflitException si la commande n'est pas au statut précédent ou a changé de version
+     */
+    @Override
+    @Transactional
+    public void changerStatut(String id, StatutCommande statut, Long version) {
+        if (statut == null || statut.precedent() == null) {
+            throw new IllegalArgumentException("Transition vers le statut " + statut + " impossible");
+        }
+        if (commandeRepository.changerStatut(id, statut.precedent(), statut, version) == 1) {
+            // Diffusé après validation de la transaction
+            eventPublisher.publishEvent(CommandeEvenement.statutModifie(id, statut.precedent(), statut));
+            return;
+        }
+        // Chemin d'échec uniquement : distinguer une commande absente d'un conflit
+        if (!commandeRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Commande", "id", id);
+        }
+        throw new ConflitException("La commande " + id + " n'est pas au statut " + statut.precedent()
+                + (version != null ? " en version " + version : ""));
+    }
+
     @Override
+    @Transactional
     public void deleteCommande(String id) {
-        commandeRepository.deleteById(id);
+        commandeRepository.findById(id).ifPresent(commande -> {
+            EtatCommande avant = EtatCommande.de(commande);
+            commandeRepository.delete(commande);
+            eventPublisher.publishEvent(CommandeEvenement.supprimee(id, avant));
+        });
+    }
+
+    /**
+     * Position dans l'historique d'un client, transmise au client sous forme opaque (Base64 URL).
+     */
+    private record CurseurHistorique(LocalDateTime date, String id) {
+
+        String encoder() {
+            String valeur = date + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(valeur.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static CurseurHistorique decoder(String curseur) {
+            String valeur;
+            try {
+                valeur = new String(Base64.getUrlDecoder().decode(curseur), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Curseur invalide : " + curseur, e);
+            }
+            int separateur = valeur.lastIndexOf('|');
+            if (separateur < 0) {
+                throw new IllegalArgumentException("Curseur invalide : " + curseur);
+            }
+            try {
+                return new CurseurHistorique(LocalDateTime.parse(valeur.substring(0, separateur)), valeur.substring(separateur + 1));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Curseur invalide : " + curseur, e);
+            }
+        }
     }
-}
\ No newline at end of file
+}
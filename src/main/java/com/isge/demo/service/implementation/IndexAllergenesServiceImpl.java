@@ -0,0 +1,230 @@
+package com.isge.demo.service.implementation;
+
+import com.isge.demo.dto.LigneMenuVue;
+import com.isge.demo.dto.PlatResume;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.repository.MenuRepository;
+import com.isge.demo.repository.PlatRepository;
+import com.isge.demo.service.IndexAllergenesService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé des allergènes, en mémoire : pour chaque allergène, l'ensemble (bitset) des plats qui le contiennent.
+ * <p>
+ * Chaque plat reçoit une position fixe dans les bitsets. Exclure des allergènes revient à retirer de l'ensemble
+ * des plats l'union de leurs bitsets ; un menu convient si l'ensemble de ses plats (disponibles ou non)
+ * ne rencontre pas cette union. Aucune requête n'est faite à la lecture.
+ * <p>
+ * L'index est construit au démarrage puis tenu à jour par les services des plats et des menus.
+ * Les noms d'allergènes sont comparés sans tenir compte de la casse ni des espaces autour.
+ */
+@Service
+public class IndexAllergenesServiceImpl implements IndexAllergenesService {
+
+    private static final Comparator<PlatResume> ORDRE_CARTE = Comparator
+            .comparing(PlatResume::categorie, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(PlatResume::nom, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Autowired
+    private PlatRepository platRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    private final ReadWriteLock verrou = new ReentrantReadWriteLock();
+
+    // Positions attribuées une fois pour toutes ; celles des plats supprimés restent inoccupées
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final List<String> platIds = new ArrayList<>();
+    private final List<PlatResume> plats = new ArrayList<>();
+    private final BitSet platsPresents = new BitSet();
+    private final BitSet platsDisponibles = new BitSet();
+    private final Map<String, BitSet> platsParAllergene = new HashMap<>();
+
+    private final Map<String, BitSet> platsParMenu = new HashMap<>();
+
+    /**
+     * Plats ne contenant aucun des allergènes, triés comme la carte (catégorie puis nom).
+     */
+    @Override
+    public List<PlatResume> platsSans(Collection<String> allergenes, boolean disponiblesSeulement) {
+        verrou.readLock().lock();
+        try {
+            BitSet resultat = (BitSet) (disponiblesSeulement ? platsDisponibles : platsPresents).clone();
+            resultat.andNot(platsAvecAllergenes(allergenes));
+            List<PlatResume> trouves = new ArrayList<>(resultat.cardinality());
+            resultat.stream().forEach(position -> trouves.add(plats.get(position)));
+            trouves.sort(ORDRE_CARTE);
+            return trouves;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Identifiants des menus dont aucun plat ne contient l'un des allergènes.
+     */
+    @Override
+    public List<String> menusSans(Collection<String> allergenes) {
+        verrou.readLock().lock();
+        try {
+            BitSet exclus = platsAvecAllergenes(allergenes);
+            List<String> menus = new ArrayList<>();
+            platsParMenu.forEach((menuId, platsDuMenu) -> {
+                if (!platsDuMenu.intersects(exclus)) {
+                    menus.add(menuId);
+                }
+            });
+            return menus;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    /**
+     * Identifiants des plats contenant au moins l'un des allergènes.
+     */
+    @Override
+    public Set<String> platsAvec(Collection<String> allergenes) {
+        verrou.readLock().lock();
+        try {
+            BitSet avec = platsAvecAllergenes(allergenes);
+            Set<String> ids = new HashSet<>();
+            avec.stream().forEach(position -> ids.add(platIds.get(position)));
+            return ids;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void platModifie(Plat plat) {
+        verrou.writeLock().lock();
+        try {
+            indexerPlat(plat);
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void platSupprime(String platId) {
+        verrou.writeLock().lock();
+        try {
+            Integer position = positions.get(platId);
+            if (position != null) {
+                retirerPlat(position);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Relit la composition du menu sous le verrou d'écriture : deux mises à jour concurrentes du même menu
+     * s'appliquent dans l'ordre de leurs lectures, et la dernière écrite en base est celle qui reste indexée.
+     */
+    @Override
+    public void menuModifie(String menuId) {
+        verrou.writeLock().lock();
+        try {
+            List<LigneMenuVue> lignes = menuRepository.findLignesVue(List.of(menuId));
+            platsParMenu.remove(menuId);
+            indexerMenus(lignes);
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construire() {
+        List<Plat> tousLesPlats = platRepository.findAll();
+        List<LigneMenuVue> lignes = menuRepository.findLignesVue();
+        verrou.writeLock().lock();
+        try {
+            tousLesPlats.forEach(this::indexerPlat);
+            indexerMenus(lignes);
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    private void indexerPlat(Plat plat) {
+        int position = position(plat.getId());
+        retirerPlat(position);
+        plats.set(position, new PlatResume(plat.getId(), plat.getNom(), plat.getPrix(), plat.getCategorie()));
+        platsPresents.set(position);
+        platsDisponibles.set(position, plat.isDisponible());
+        if (plat.getAllergenes() != null) {
+            for (String allergene : plat.getAllergenes()) {
+                if (allergene != null && !allergene.isBlank()) {
+                    platsParAllergene.computeIfAbsent(normaliser(allergene), cle -> new BitSet()).set(position);
+                }
+            }
+        }
+    }
+
+    private void retirerPlat(int position) {
+        plats.set(position, null);
+        platsPresents.clear(position);
+        platsDisponibles.clear(position);
+        platsParAllergene.values().forEach(bitset -> bitset.clear(position));
+        platsParAllergene.values().removeIf(BitSet::isEmpty);
+    }
+
+    /**
+     * Ajoute les menus décrits par les lignes ; un menu sans plat a un bitset vide.
+     */
+    private void indexerMenus(List<LigneMenuVue> lignes) {
+        for (LigneMenuVue ligne : lignes) {
+            BitSet platsDuMenu = platsParMenu.computeIfAbsent(ligne.menuId(), menuId -> new BitSet());
+            if (ligne.platId() != null) {
+                platsDuMenu.set(position(ligne.platId()));
+            }
+        }
+    }
+
+    private int position(String platId) {
+        return positions.computeIfAbsent(platId, id -> {
+            platIds.add(id);
+            plats.add(null);
+            return platIds.size() - 1;
+        });
+    }
+
+    private BitSet platsAvecAllergenes(Collection<String> allergenes) {
+        BitSet union = new BitSet();
+        if (allergenes != null) {
+            for (String allergene : allergenes) {
+                BitSet avec = allergene != null ? platsParAllergene.get(normaliser(allergene)) : null;
+                if (avec != null) {
+                    union.or(avec);
+                }
+            }
+        }
+        return union;
+    }
+
+    private static String normaliser(String allergene) {
+        return allergene.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,8 +1,13 @@
 package com.isge.demo.service.implementation;
 
+import com.isge.demo.dto.MenuResume;
 import com.isge.demo.entity.Menu;
 import com.isge.demo.repository.MenuRepository;
+import com.isge.demo.service.IndexAllergenesService;
 import com.isge.demo.service.MenuService;
+import com.isge.demo.service.MenuVueService;
+import com.isge.demo.service.RechercheService;
+import com.isge.demo.service.VersionCatalogueService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -16,14 +21,29 @@ public class MenuServiceImpl implements MenuService {
     @Autowired
     private MenuRepository menuRepository;
 
+    @Autowired
+    private VersionCatalogueService versionCatalogueService;
+
+    @Autowired
+    private MenuVueService menuVueService;
+
+    @Autowired
+    private IndexAllergenesService indexAllergenesService;
+
+    @Autowired
+    private RechercheService rechercheService;
+
     @Override
     public Menu createMenu(Menu menu) {
-        return menuRepository.save(menu);
+        Menu savedMenu = menuRepository.save(menu);
+        rechercheService.menuModifie(savedMenu);
+        catalogueModifie(savedMenu.getId());
+        return savedMenu;
     }
 
     @Override
-    public List<Menu> allMenus() {
-        return menuRepository.findAll();
+    public List<MenuResume> allMenus() {
+        return menuRepository.findResumes();
     }
 
     @Override
@@ -35,7 +55,10 @@ public class MenuServiceImpl implements MenuService {
     @Override
     public Menu updateMenu(Menu menu) {
         if (menuRepository.existsById(menu.getId())) {
-            return menuRepository.save(menu);
+            Menu savedMenu = menuRepository.save(menu);
+            rechercheService.menuModifie(savedMenu);
+            catalogueModifie(menu.getId());
+            return savedMenu;
         }
         return null; // Ou lever une exception si le menu n'existe pas
     }
@@ -43,5 +66,16 @@ public class MenuServiceImpl implements MenuService {
     @Override
     public void deleteMenu(String id) {
         menuRepository.deleteById(id);
+        rechercheService.menuSupprime(id);
+        catalogueModifie(id);
+    }
+
+    /**
+     * Reconstruit la vue du menu et son entrée dans l'index des allergènes avant de changer la version du catalogue.
+     */
+    private void catalogueModifie(String id) {
+        menuVueService.menuModifie(id);
+        indexAllergenesService.menuModifie(id);
+        versionCatalogueService.incrementer();
     }
 }
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.isge.demo.service.implementation;
+
+import com.isge.demo.config.CacheConfig;
+import com.isge.demo.dto.LigneMenuVue;
+import com.isge.demo.dto.MenuVue;
+import com.isge.demo.dto.PlatResume;
+import com.isge.demo.repository.MenuRepository;
+import com.isge.demo.service.IndexAllergenesService;
+import com.isge.demo.service.MenuVueService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Vues des menus précalculées et gardées en cache ({@link CacheConfig#MENU_VUES}).
+ * <p>
+ * Toutes les vues sont construites au démarrage en une requête. Ensuite, seule la vue d'un menu modifié
+ * est reconstruite, ou celles des menus contenant un plat modifié : les services des menus et des plats
+ * appellent {@link #menuModifie} et {@link #platModifie} après chaque écriture.
+ */
+@Service
+public class MenuVueServiceImpl implements MenuVueService {
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private IndexAllergenesService indexAllergenesService;
+
+    /**
+     * @return la vue du menu, ou {@code null} si le menu n'existe pas ; un identifiant inconnu n'est pas mis
+     *         en cache, pour que des identifiants quelconques n'évincent pas les vues précalculées
+     */
+    @Override
+    public MenuVue menuVue(String id) {
+        Cache cache = cache();
+        MenuVue vue = cache.get(id, MenuVue.class);
+        if (vue != null) {
+            return vue;
+        }
+        vue = construire(menuRepository.findLignesVue(List.of(id))).get(id);
+        if (vue != null) {
+            // Une vue reconstruite entre-temps par une modification du menu est conservée
+            cache.putIfAbsent(id, vue);
+        }
+        return vue;
+    }
+
+    /**
+     * Vues des menus dont aucun plat ne contient l'un des allergènes, triées par nom.
+     */
+    @Override
+    public List<MenuVue> menusSans(Collection<String> allergenes) {
+        return indexAllergenesService.menusSans(allergenes).stream()
+                .map(this::menuVue)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(MenuVue::nom, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    @Override
+    public void menuModifie(String menuId) {
+        reconstruire(List.of(menuId));
+    }
+
+    @Override
+    public void platModifie(String platId) {
+        List<String> menuIds = menuRepository.findIdsByPlatId(platId);
+        if (!menuIds.isEmpty()) {
+            reconstruire(menuIds);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precalculer() {
+        Cache cache = cache();
+        construire(menuRepository.findLignesVue()).forEach(cache::put);
+    }
+
+    /**
+     * Remplace les vues des menus indiqués ; celles des menus supprimés sont retirées du cache.
+     * Deux reconstructions concurrentes peuvent s'écrire dans le désordre : l'expiration des entrées
+     * ({@code cache.menu-vue.duree}) borne la durée d'une vue périmée.
+     */
+    private void reconstruire(Collection<String> menuIds) {
+        Cache cache = cache();
+        Map<String, MenuVue> vues = construire(menuRepository.findLignesVue(menuIds));
+        for (String menuId : menuIds) {
+            MenuVue vue = vues.get(menuId);
+            if (vue != null) {
+                cache.put(menuId, vue);
+            } else {
+                cache.evict(menuId);
+            }
+        }
+    }
+
+    /**
+     * Regroupe les lignes (triées par menu puis par plat) en une vue par menu.
+     */
+    private static Map<String, MenuVue> construire(List<LigneMenuVue> lignes) {
+        Map<String, MenuVue> vues = new LinkedHashMap<>();
+        int debut = 0;
+        for (int i = 1; i <= lignes.size(); i++) {
+            if (i == lignes.size() || !lignes.get(i).menuId().equals(lignes.get(debut).menuId())) {
+                MenuVue vue = vue(lignes.subList(debut, i));
+                vues.put(vue.id(), vue);
+                debut = i;
+            }
+        }
+        return vues;
+    }
+
+    private static MenuVue vue(List<LigneMenuVue> lignes) {
+        LigneMenuVue menu = lignes.get(0);
+        // Une ligne par allergène : chaque plat n'est compté qu'une fois
+        Map<String, PlatResume> disponibles = new LinkedHashMap<>();
+        Set<String> indisponibles = new TreeSet<>();
+        Set<String> allergenes = new TreeSet<>();
+        for (LigneMenuVue ligne : lignes) {
+            if (ligne.platId() == null) {
+                continue;
+            }
+            if (!Boolean.TRUE.equals(ligne.platDisponible())) {
+                indisponibles.add(ligne.platId());
+                continue;
+            }
+            disponibles.putIfAbsent(ligne.platId(), new PlatResume(ligne.platId(), ligne.platNom(),
+                    ligne.platPrix() != null ? ligne.platPrix() : 0, ligne.platCategorie()));
+            if (ligne.allergene() != null) {
+                allergenes.add(ligne.allergene());
+            }
+        }
+
+        BigDecimal prixCarte = BigDecimal.ZERO;
+        for (PlatResume plat : disponibles.values()) {
+            prixCarte = prixCarte.add(BigDecimal.valueOf(plat.prix()));
+        }
+        double prixEffectif = menu.menuPrix() > 0
+                ? Math.min(menu.menuPrix(), prixCarte.doubleValue())
+                : prixCarte.doubleValue();
+        return new MenuVue(menu.menuId(), menu.menuNom(), menu.menuDescription(),
+                List.copyOf(disponibles.values()), indisponibles.size(), List.copyOf(allergenes),
+                prixCarte.doubleValue(), prixEffectif);
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.MENU_VUES);
+    }
+}
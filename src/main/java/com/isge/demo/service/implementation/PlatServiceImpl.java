@@ -1,10 +1,19 @@
 package com.isge.demo.service.implementation;
 
+import com.isge.demo.config.CacheConfig;
+import com.isge.demo.dto.PlatResume;
 import com.isge.demo.entity.Plat;
 import com.isge.demo.repository.PlatRepository;
+import com.isge.demo.service.IndexAllergenesService;
+import com.isge.demo.service.MenuVueService;
 import com.isge.demo.service.PlatService;
+import com.isge.demo.service.RechercheService;
+import com.isge.demo.service.VersionCatalogueService;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,17 +25,48 @@ public class PlatServiceImpl implements PlatService {
     @Autowired
     private PlatRepository platRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private VersionCatalogueService versionCatalogueService;
+
+    @Autowired
+    private MenuVueService menuVueService;
+
+    @Autowired
+    private IndexAllergenesService indexAllergenesService;
+
+    @Autowired
+    private RechercheService rechercheService;
+
     @Override
     public Plat createPlat(Plat plat) {
-        return platRepository.save(plat);
+        Plat savedPlat = platRepository.save(plat);
+        indexAllergenesService.platModifie(savedPlat);
+        rechercheService.platModifie(savedPlat);
+        catalogueModifie(null);
+        return savedPlat;
     }
 
+    /**
+     * Mise en cache sous la version du catalogue lue avant le chargement : une liste lue avant une écriture
+     * et mise en cache après elle reste associée à l'ancienne version.
+     */
     @Override
+    @Cacheable(cacheNames = CacheConfig.PLATS, key = "@versionCatalogueServiceImpl.version()")
     public List<Plat> allPlats() {
         return platRepository.findAll();
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.PLATS_DISPONIBLES, key = "@versionCatalogueServiceImpl.version()")
+    public List<PlatResume> platsDisponibles() {
+        return platRepository.findByDisponibleTrueOrderByCategorieAscNomAsc();
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PLAT, key = "#id", unless = "#result == null")
     public Plat readPlat(String id) {
         Optional<Plat> optionalPlat = platRepository.findById(id);
         return optionalPlat.orElse(null);
@@ -35,7 +75,11 @@ public class PlatServiceImpl implements PlatService {
     @Override
     public Plat updatePlat(Plat plat) {
         if (platRepository.existsById(plat.getId())) {
-            return platRepository.save(plat);
+            Plat savedPlat = platRepository.save(plat);
+            indexAllergenesService.platModifie(savedPlat);
+            rechercheService.platModifie(savedPlat);
+            catalogueModifie(plat.getId());
+            return savedPlat;
         }
         return null; // Ou lever une exception si le plat n'existe pas
     }
@@ -43,5 +87,35 @@ public class PlatServiceImpl implements PlatService {
     @Override
     public void deletePlat(String id) {
         platRepository.deleteById(id);
+        indexAllergenesService.platSupprime(id);
+        rechercheService.platSupprime(id);
+        catalogueModifie(id);
+    }
+
+    /**
+     * Invalide les caches des plats et reconstruit les vues des menus qui contiennent le plat, puis change
+     * la version du catalogue. Les listes étant mises en cache par version, la nouvelle version ne désigne
+     * que des listes chargées après l'écriture ; vider les listes ne fait que libérer l'ancienne entrée.
+     */
+    private void catalogueModifie(String id) {
+        if (id != null) {
+            vider(CacheConfig.PLAT, id);
+            menuVueService.platModifie(id);
+        }
+        vider(CacheConfig.PLATS, null);
+        vider(CacheConfig.PLATS_DISPONIBLES, null);
+        versionCatalogueService.incrementer();
+    }
+
+    private void vider(String nomCache, String cle) {
+        Cache cache = cacheManager.getCache(nomCache);
+        if (cache == null) {
+            return;
+        }
+        if (cle == null) {
+            cache.clear();
+        } else {
+            cache.evict(cle);
+        }
     }
-}
\ No newline at end of file
+}
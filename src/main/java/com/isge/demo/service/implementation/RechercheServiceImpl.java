@@ -0,0 +1,284 @@
+package com.isge.demo.service.implementation;
+
+import com.isge.demo.dto.MenuResume;
+import com.isge.demo.dto.PageRecherche;
+import com.isge.demo.dto.ResultatRecherche;
+import com.isge.demo.entity.Menu;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.repository.MenuRepository;
+import com.isge.demo.repository.PlatRepository;
+import com.isge.demo.service.RechercheService;
+
+import jakarta.annotation.PreDestroy;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.util.ElisionFilter;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recherche plein texte sur les plats et les menus, avec un index Lucene en mémoire.
+ * <p>
+ * L'index est construit au démarrage puis mis à jour document par document par les services des plats
+ * et des menus ; une modification est visible par la recherche suivante. Le texte est découpé en mots,
+ * sans élisions (« l'agneau »), en minuscules et sans accents. Chaque mot recherché doit se retrouver dans
+ * le nom, la description ou la catégorie : à l'identique, comme début de mot, ou à une ou deux fautes de frappe
+ * près selon sa longueur. Une correspondance exacte, puis dans le nom, est classée plus haut.
+ */
+@Service
+public class RechercheServiceImpl implements RechercheService {
+
+    /** Profondeur maximale de pagination : au-delà, la recherche doit être affinée. */
+    public static final int PROFONDEUR_MAX = 1000;
+
+    private static final String CLE = "cle";
+    private static final String TYPE = "type";
+    private static final String ID = "id";
+    private static final String NOM = "nom";
+    private static final String DESCRIPTION = "description";
+    private static final String CATEGORIE = "categorie";
+    private static final String PRIX = "prix";
+    private static final String DISPONIBLE = "disponible";
+
+    /** Champs interrogés et leur poids. */
+    private static final Map<String, Float> CHAMPS = Map.of(NOM, 3f, CATEGORIE, 1.5f, DESCRIPTION, 1f);
+
+    @Autowired
+    private PlatRepository platRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    private final Analyzer analyseur = analyseur();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public RechercheServiceImpl() throws IOException {
+        this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyseur));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * @throws IllegalArgumentException si la taille n'est pas positive ou si la page demandée dépasse
+     *                                  {@link #PROFONDEUR_MAX} résultats
+     */
+    @Override
+    public PageRecherche rechercher(String texte, ResultatRecherche.Type type, int page, int taille) {
+        if (taille < 1) {
+            throw new IllegalArgumentException("La taille de page doit être positive");
+        }
+        // Comparé avant de multiplier : (page + 1) * taille déborderait pour une page très grande
+        if (page < 0 || page >= PROFONDEUR_MAX / taille) {
+            throw new IllegalArgumentException("Seuls les " + PROFONDEUR_MAX + " premiers résultats sont accessibles");
+        }
+        int profondeur = (page + 1) * taille;
+        Query requete = requete(texte, type);
+        if (requete == null) {
+            return new PageRecherche(List.of(), page, taille, 0);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // Sans seuil, Lucene cesse de compter au-delà de 1000 correspondances et le total n'est plus qu'un minorant
+                TopDocs meilleurs = searcher.search(requete,
+                        new TopScoreDocCollectorManager(profondeur, Integer.MAX_VALUE));
+                StoredFields documents = searcher.storedFields();
+                List<ResultatRecherche> resultats = new ArrayList<>(taille);
+                for (int i = page * taille; i < meilleurs.scoreDocs.length; i++) {
+                    ScoreDoc trouve = meilleurs.scoreDocs[i];
+                    resultats.add(resultat(documents.document(trouve.doc), trouve.score));
+                }
+                return new PageRecherche(resultats, page, taille, meilleurs.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void platModifie(Plat plat) {
+        Document document = document(ResultatRecherche.Type.PLAT, plat.getId(), plat.getNom(), plat.getDescription(),
+                plat.getPrix(), plat.isDisponible());
+        if (plat.getCategorie() != null) {
+            document.add(new TextField(CATEGORIE, plat.getCategorie(), Field.Store.YES));
+        }
+        enregistrer(ResultatRecherche.Type.PLAT, plat.getId(), document);
+    }
+
+    @Override
+    public void platSupprime(String platId) {
+        enregistrer(ResultatRecherche.Type.PLAT, platId, null);
+    }
+
+    @Override
+    public void menuModifie(Menu menu) {
+        enregistrer(ResultatRecherche.Type.MENU, menu.getId(), document(ResultatRecherche.Type.MENU, menu.getId(),
+                menu.getNom(), menu.getDescription(), menu.getPrix(), true));
+    }
+
+    @Override
+    public void menuSupprime(String menuId) {
+        enregistrer(ResultatRecherche.Type.MENU, menuId, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void construire() throws IOException {
+        writer.deleteAll();
+        for (Plat plat : platRepository.findAll()) {
+            platModifie(plat);
+        }
+        for (MenuResume menu : menuRepository.findResumes()) {
+            enregistrer(ResultatRecherche.Type.MENU, menu.id(), document(ResultatRecherche.Type.MENU, menu.id(),
+                    menu.nom(), menu.description(), menu.prix(), true));
+        }
+    }
+
+    @PreDestroy
+    public void fermer() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    /**
+     * Remplace (ou supprime si {@code document} est nul) le document d'un plat ou d'un menu,
+     * puis rend la modification visible aux recherches.
+     */
+    private void enregistrer(ResultatRecherche.Type type, String id, Document document) {
+        Term cle = new Term(CLE, type.name() + ":" + id);
+        try {
+            if (document == null) {
+                writer.deleteDocuments(cle);
+            } else {
+                document.add(new StringField(CLE, cle.text(), Field.Store.NO));
+                writer.updateDocument(cle, document);
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Document document(ResultatRecherche.Type type, String id, String nom, String description,
+                                     double prix, boolean disponible) {
+        Document document = new Document();
+        document.add(new StringField(TYPE, type.name(), Field.Store.YES));
+        document.add(new StoredField(ID, id));
+        if (nom != null) {
+            document.add(new TextField(NOM, nom, Field.Store.YES));
+        }
+        if (description != null) {
+            document.add(new TextField(DESCRIPTION, description, Field.Store.YES));
+        }
+        document.add(new StoredField(PRIX, prix));
+        document.add(new StoredField(DISPONIBLE, disponible ? 1 : 0));
+        return document;
+    }
+
+    private static ResultatRecherche resultat(Document document, float score) {
+        return new ResultatRecherche(ResultatRecherche.Type.valueOf(document.get(TYPE)), document.get(ID),
+                document.get(NOM), document.get(DESCRIPTION), document.get(CATEGORIE),
+                document.getField(PRIX).numericValue().doubleValue(),
+                document.getField(DISPONIBLE).numericValue().intValue() == 1, score);
+    }
+
+    /**
+     * Chaque mot du texte (obligatoire) peut correspondre à l'identique, comme préfixe ou approximativement,
+     * dans l'un des champs interrogés.
+     *
+     * @return la requête, ou {@code null} si le texte ne contient aucun mot
+     */
+    private Query requete(String texte, ResultatRecherche.Type type) {
+        List<String> mots = mots(texte);
+        if (mots.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder requete = new BooleanQuery.Builder();
+        for (String mot : mots) {
+            BooleanQuery.Builder variantes = new BooleanQuery.Builder();
+            int fautes = mot.length() <= 3 ? 0 : mot.length() <= 6 ? 1 : 2;
+            CHAMPS.forEach((champ, poids) -> {
+                Term terme = new Term(champ, mot);
+                variantes.add(new BoostQuery(new TermQuery(terme), poids * 3), BooleanClause.Occur.SHOULD);
+                variantes.add(new BoostQuery(new PrefixQuery(terme), poids * 2), BooleanClause.Occur.SHOULD);
+                if (fautes > 0) {
+                    variantes.add(new BoostQuery(new FuzzyQuery(terme, fautes, 1), poids), BooleanClause.Occur.SHOULD);
+                }
+            });
+            requete.add(variantes.build(), BooleanClause.Occur.MUST);
+        }
+        if (type != null) {
+            requete.add(new TermQuery(new Term(TYPE, type.name())), BooleanClause.Occur.FILTER);
+        }
+        return requete.build();
+    }
+
+    /**
+     * Mots du texte, analysés comme les champs indexés.
+     */
+    private List<String> mots(String texte) {
+        List<String> mots = new ArrayList<>();
+        try (TokenStream flux = analyseur.tokenStream(NOM, texte)) {
+            CharTermAttribute terme = flux.addAttribute(CharTermAttribute.class);
+            flux.reset();
+            while (flux.incrementToken()) {
+                mots.add(terme.toString());
+            }
+            flux.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return mots;
+    }
+
+    private static Analyzer analyseur() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String champ) {
+                Tokenizer mots = new StandardTokenizer();
+                TokenStream flux = new ElisionFilter(mots, FrenchAnalyzer.DEFAULT_ARTICLES);
+                flux = new LowerCaseFilter(flux);
+                flux = new ASCIIFoldingFilter(flux);
+                return new TokenStreamComponents(mots, flux);
+            }
+        };
+    }
+}
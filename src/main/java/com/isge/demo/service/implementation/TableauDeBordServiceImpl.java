@@ -0,0 +1,299 @@
+package com.isge.demo.service.implementation;
+
+import com.isge.demo.dto.CommandesParStatut;
+import com.isge.demo.dto.TableauDeBord;
+import com.isge.demo.dto.VentePlat;
+import com.isge.demo.entity.StatutCommande;
+import com.isge.demo.event.CommandeEvenement;
+import com.isge.demo.event.EtatCommande;
+import com.isge.demo.repository.AnalyseRepository;
+import com.isge.demo.service.TableauDeBordService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compteurs du tableau de bord tenus en mémoire : nombre de commandes par statut, nombre de commandes,
+ * chiffre d'affaires et plats vendus du jour.
+ * <p>
+ * Les compteurs sont mis à jour par les événements de commandes, après validation de chaque transaction,
+ * et lus sans requête : le coût d'une lecture ne dépend pas du nombre de commandes en base. Ils sont
+ * recalculés périodiquement par la base ({@code analyse.tableau-de-bord.reconciliation}), ce qui corrige
+ * les écarts éventuels, par exemple les modifications faites hors de l'application.
+ * <p>
+ * Chaque transaction publiant un événement reçoit un numéro juste avant sa validation, sous le verrou partagé
+ * {@code verrou} qu'elle garde jusqu'à l'application de l'événement : les écritures ne s'attendent pas entre elles.
+ * Le recalcul prend le verrou exclusif le temps de relever le dernier numéro attribué et d'ouvrir son instantané.
+ * Les transactions numérotées avant sont donc validées et comptées dans l'instantané ; seuls les événements
+ * numérotés après sont rejoués sur les nouveaux compteurs, installés sous le même verrou exclusif.
+ */
+@Service
+public class TableauDeBordServiceImpl implements TableauDeBordService {
+
+    @Autowired
+    private AnalyseRepository analyseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Clock horloge = Clock.systemDefaultZone();
+
+    private final AtomicReference<Compteurs> compteurs =
+            new AtomicReference<>(new Compteurs(LocalDate.now(horloge), Compteurs.statutsVides(), null));
+
+    // Partagé par les transactions entre leur numérotation et l'application de leur événement, exclusif pour le recalcul
+    private final ReadWriteLock verrou = new ReentrantReadWriteLock();
+    private final AtomicLong numeros = new AtomicLong();
+
+    // Recalcul en cours, null sinon
+    private volatile Recalcul recalcul;
+
+    @Override
+    public TableauDeBord tableauDeBord() {
+        return compteursDuJour().lire();
+    }
+
+    /**
+     * Numérote l'événement avant la validation de sa transaction et l'applique une fois celle-ci validée.
+     * Publié hors transaction, il est numéroté et appliqué immédiatement.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void appliquer(CommandeEvenement evenement) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            verrou.readLock().lock();
+            try {
+                appliquer(numeros.incrementAndGet(), evenement);
+            } finally {
+                verrou.readLock().unlock();
+            }
+            return;
+        }
+        // Écritures envoyées avant de prendre le verrou : la validation n'attend plus de verrou de ligne
+        // détenu par une transaction qui attendrait elle-même le verrou partagé
+        if (entityManager.isJoinedToTransaction()) {
+            entityManager.flush();
+        }
+        verrou.readLock().lock();
+        long numero = numeros.incrementAndGet();
+        try {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    try {
+                        if (status == STATUS_COMMITTED) {
+                            appliquer(numero, evenement);
+                        }
+                    } finally {
+                        verrou.readLock().unlock();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            verrou.readLock().unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Appelé sous le verrou partagé : le recalcul ne peut ni relever son numéro ni remplacer les compteurs entre-temps.
+     */
+    private void appliquer(long numero, CommandeEvenement evenement) {
+        Recalcul enCours = recalcul;
+        if (enCours != null && numero > enCours.dernierNumero()) {
+            enCours.recus().add(evenement);
+        }
+        appliquer(compteursDuJour(), evenement);
+    }
+
+    private static void appliquer(Compteurs actuels, CommandeEvenement evenement) {
+        switch (evenement.type()) {
+            case CREEE -> actuels.ajouter(evenement.apres(), 1);
+            case MODIFIEE -> {
+                actuels.ajouter(evenement.avant(), -1);
+                actuels.ajouter(evenement.apres(), 1);
+            }
+            case STATUT_MODIFIE -> {
+                actuels.compterStatut(evenement.statutPrecedent(), -1);
+                actuels.compterStatut(evenement.statut(), 1);
+            }
+            case SUPPRIMEE -> actuels.ajouter(evenement.avant(), -1);
+        }
+    }
+
+    /**
+     * Recalcule l'ensemble des compteurs à partir de la base, au démarrage puis périodiquement.
+     * Les requêtes du recalcul lisent un même instantané de la base ; les événements des transactions
+     * numérotées après son ouverture sont rejoués sur les nouveaux compteurs.
+     */
+    @Scheduled(fixedDelayString = "${analyse.tableau-de-bord.reconciliation:1m}")
+    public void reconcilier() {
+        LocalDate jour = LocalDate.now(horloge);
+        TransactionTemplate lecture = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        lecture.setReadOnly(true);
+        lecture.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        try {
+            Compteurs recalcules = lecture.execute(status -> charger(jour));
+            verrou.writeLock().lock();
+            try {
+                recalcul.recus().forEach(evenement -> appliquer(recalcules, evenement));
+                compteurs.set(recalcules);
+            } finally {
+                verrou.writeLock().unlock();
+            }
+        } finally {
+            recalcul = null;
+        }
+    }
+
+    private Compteurs charger(LocalDate jour) {
+        Map<StatutCommande, LongAdder> statuts = Compteurs.statutsVides();
+        // Première requête de la transaction, qui en fixe l'instantané : faite une fois les transactions déjà
+        // numérotées validées, et avant que d'autres puissent l'être
+        verrou.writeLock().lock();
+        try {
+            recalcul = new Recalcul(numeros.get(), new ConcurrentLinkedQueue<>());
+            for (CommandesParStatut ligne : analyseRepository.commandesParStatut()) {
+                statuts.get(ligne.statut()).add(ligne.nombre());
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+        Compteurs recalcules = new Compteurs(jour, statuts, LocalDateTime.now(horloge));
+
+        LocalDateTime debut = jour.atStartOfDay();
+        LocalDateTime fin = jour.plusDays(1).atStartOfDay();
+        recalcules.commandes.add(analyseRepository.compterCommandes(debut, fin));
+        recalcules.centimes.add(centimes(analyseRepository.chiffreAffaires(debut, fin)));
+        for (VentePlat vente : analyseRepository.platsLesPlusVendus(debut, fin, Limit.unlimited())) {
+            recalcules.plat(vente.platId()).add(vente.quantite());
+        }
+        return recalcules;
+    }
+
+    /**
+     * Compteurs courants, remis à zéro pour les indicateurs du jour au passage à minuit.
+     * Les compteurs par statut, qui ne dépendent pas de la date, sont conservés.
+     */
+    private Compteurs compteursDuJour() {
+        LocalDate aujourdhui = LocalDate.now(horloge);
+        while (true) {
+            Compteurs actuels = compteurs.get();
+            if (actuels.jour.equals(aujourdhui)) {
+                return actuels;
+            }
+            Compteurs nouveauJour = new Compteurs(aujourdhui, actuels.statuts, actuels.reconciliation);
+            if (compteurs.compareAndSet(actuels, nouveauJour)) {
+                return nouveauJour;
+            }
+        }
+    }
+
+    private static long centimes(BigDecimal montant) {
+        return montant.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @param dernierNumero dernier numéro attribué à l'ouverture de l'instantané
+     * @param recus         événements numérotés après lui, à rejouer sur les compteurs recalculés
+     */
+    private record Recalcul(long dernierNumero, Queue<CommandeEvenement> recus) {
+    }
+
+    private static final class Compteurs {
+        private final LocalDate jour;
+        private final Map<StatutCommande, LongAdder> statuts;
+        private final LocalDateTime reconciliation;
+        private final LongAdder commandes = new LongAdder();
+        private final LongAdder centimes = new LongAdder();
+        private final ConcurrentHashMap<String, LongAdder> plats = new ConcurrentHashMap<>();
+
+        Compteurs(LocalDate jour, Map<StatutCommande, LongAdder> statuts, LocalDateTime reconciliation) {
+            this.jour = jour;
+            this.statuts = statuts;
+            this.reconciliation = reconciliation;
+        }
+
+        /** Un compteur par statut, créé d'avance : la table n'est plus modifiée ensuite. */
+        static Map<StatutCommande, LongAdder> statutsVides() {
+            Map<StatutCommande, LongAdder> statuts = new EnumMap<>(StatutCommande.class);
+            for (StatutCommande statut : StatutCommande.values()) {
+                statuts.put(statut, new LongAdder());
+            }
+            return statuts;
+        }
+
+        /**
+         * Ajoute ({@code signe} = 1) ou retire ({@code signe} = -1) une commande des compteurs.
+         */
+        void ajouter(EtatCommande etat, int signe) {
+            if (etat == null) {
+                return;
+            }
+            compterStatut(etat.statut(), signe);
+            if (etat.date() == null || !etat.date().toLocalDate().equals(jour)) {
+                return;
+            }
+            commandes.add(signe);
+            if (etat.prixTotal() != null) {
+                centimes.add(signe * TableauDeBordServiceImpl.centimes(etat.prixTotal()));
+            }
+            etat.platIds().forEach(platId -> plat(platId).add(signe));
+        }
+
+        void compterStatut(StatutCommande statut, int signe) {
+            if (statut != null) {
+                statuts.get(statut).add(signe);
+            }
+        }
+
+        LongAdder plat(String platId) {
+            return plats.computeIfAbsent(platId, id -> new LongAdder());
+        }
+
+        TableauDeBord lire() {
+            Map<StatutCommande, Long> parStatut = new EnumMap<>(StatutCommande.class);
+            statuts.forEach((statut, compteur) -> parStatut.put(statut, compteur.sum()));
+            // Plats par quantité décroissante, sans ceux dont toutes les ventes du jour ont été annulées
+            Map<String, Long> platsVendus = new LinkedHashMap<>();
+            plats.entrySet().stream()
+                    .map(entree -> Map.entry(entree.getKey(), entree.getValue().sum()))
+                    .filter(entree -> entree.getValue() > 0)
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .forEach(entree -> platsVendus.put(entree.getKey(), entree.getValue()));
+            return new TableauDeBord(jour, Collections.unmodifiableMap(parStatut), commandes.sum(),
+                    BigDecimal.valueOf(centimes.sum(), 2), Collections.unmodifiableMap(platsVendus), reconciliation);
+        }
+    }
+}
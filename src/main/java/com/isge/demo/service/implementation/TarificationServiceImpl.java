@@ -0,0 +1,83 @@
+package com.isge.demo.service.implementation;
+
+import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.exception.ResourceNotFoundException;
+import com.isge.demo.repository.PlatRepository;
+import com.isge.demo.service.TarificationService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class TarificationServiceImpl implements TarificationService {
+
+    @Autowired
+    private PlatRepository platRepository;
+
+    /**
+     * Charge en une seule requête tous les plats référencés par les commandes.
+     *
+     * @return les plats trouvés, indexés par identifiant
+     */
+    @Override
+    public Map<String, Plat> resoudrePlats(Collection<Commande> commandes) {
+        Set<String> ids = commandes.stream()
+                .filter(commande -> commande.getPlats() != null)
+                .flatMap(commande -> commande.getPlats().stream())
+                .filter(Objects::nonNull)
+                .map(Plat::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return platRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Plat::getId, Function.identity()));
+    }
+
+    /**
+     * Remplace les plats de la commande par ceux du catalogue et calcule son prix total.
+     * Le prix éventuellement transmis par le client est ignoré.
+     *
+     * @throws IllegalArgumentException  si un plat est référencé sans identifiant
+     * @throws ResourceNotFoundException si un plat référencé n'existe pas
+     */
+    @Override
+    public void tarifer(Commande commande, Map<String, Plat> plats) {
+        List<Plat> platsCommande = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        if (commande.getPlats() != null) {
+            for (Plat demande : commande.getPlats()) {
+                String id = demande != null ? demande.getId() : null;
+                if (id == null) {
+                    throw new IllegalArgumentException("Plat référencé sans identifiant");
+                }
+                Plat plat = plats.get(id);
+                if (plat == null) {
+                    throw new ResourceNotFoundException("Plat", "id", id);
+                }
+                platsCommande.add(plat);
+                total = total.add(BigDecimal.valueOf(plat.getPrix()));
+            }
+        }
+        commande.setPlats(platsCommande);
+        commande.setPrixTotal(total.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    @Override
+    public void tarifer(Commande commande) {
+        tarifer(commande, resoudrePlats(List.of(commande)));
+    }
+}
@@ -0,0 +1,36 @@
+package com.isge.demo.service.implementation;
+
+import com.isge.demo.service.VersionCatalogueService;
+
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version du catalogue (plats et menus), changée par chaque écriture des services des plats et des menus.
+ * Sert d'ETag aux listes du catalogue : une requête dont l'en-tête {@code If-None-Match} porte la version
+ * actuelle reçoit une réponse 304 sans lecture en base.
+ * <p>
+ * La version est préfixée par l'instant de démarrage, pour qu'une version émise avant un redémarrage
+ * ne corresponde jamais à celle du nouveau processus. Elle est propre à chaque instance de l'application.
+ */
+@Service
+public class VersionCatalogueServiceImpl implements VersionCatalogueService {
+
+    private final String demarrage = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong compteur = new AtomicLong();
+
+    @Override
+    public String version() {
+        return demarrage + "-" + compteur.get();
+    }
+
+    /**
+     * À appeler après l'écriture et l'invalidation des caches concernés : une lecture qui voit la nouvelle
+     * version voit aussi les nouvelles données.
+     */
+    @Override
+    public void incrementer() {
+        compteur.incrementAndGet();
+    }
+}
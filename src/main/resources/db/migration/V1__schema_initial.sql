@@ -0,0 +1,69 @@
+-- Schéma initial, identique à celui généré par Hibernate pour les entités.
+-- SQL portable : H2 (mode PostgreSQL) et PostgreSQL.
+
+create table client (
+    id varchar(255) not null,
+    nom varchar(255),
+    email varchar(255),
+    password varchar(255),
+    role varchar(255),
+    adresse varchar(255),
+    constraint pk_client primary key (id),
+    constraint uk_client_email unique (email)
+);
+
+create table plat (
+    id varchar(255) not null,
+    nom varchar(255),
+    prix double precision not null,
+    description varchar(255),
+    categorie varchar(255),
+    disponible boolean not null,
+    constraint pk_plat primary key (id)
+);
+
+create table plat_allergenes (
+    plat_id varchar(255) not null,
+    allergenes varchar(255),
+    constraint fk_plat_allergenes_plat foreign key (plat_id) references plat (id)
+);
+
+create table menu (
+    id varchar(255) not null,
+    nom varchar(255),
+    description varchar(255),
+    prix double precision not null,
+    constraint pk_menu primary key (id)
+);
+
+create table menu_plats (
+    menu_id varchar(255) not null,
+    plats_id varchar(255) not null,
+    constraint fk_menu_plats_menu foreign key (menu_id) references menu (id),
+    constraint fk_menu_plats_plat foreign key (plats_id) references plat (id)
+);
+
+create table commande (
+    id varchar(255) not null,
+    date varchar(255),
+    statut varchar(20),
+    client_id varchar(255),
+    prix_total numeric(12, 2),
+    version bigint,
+    constraint pk_commande primary key (id),
+    constraint fk_commande_client foreign key (client_id) references client (id)
+);
+
+create table commande_plats (
+    commande_id varchar(255) not null,
+    plats_id varchar(255) not null,
+    constraint fk_commande_plats_commande foreign key (commande_id) references commande (id),
+    constraint fk_commande_plats_plat foreign key (plats_id) references plat (id)
+);
+
+create index idx_plat_disponible_categorie on plat (disponible, categorie);
+create index idx_plat_allergenes_plat on plat_allergenes (plat_id);
+create index idx_menu_plats_menu on menu_plats (menu_id);
+create index idx_commande_client on commande (client_id);
+create index idx_commande_statut on commande (statut);
+create index idx_commande_plats_commande on commande_plats (commande_id);
@@ -0,0 +1,3 @@
+-- Historique des commandes d'un client trié par date : l'index (client_id, date) remplace l'index sur client_id seul.
+create index idx_commande_client_date on commande (client_id, date);
+drop index idx_commande_client;
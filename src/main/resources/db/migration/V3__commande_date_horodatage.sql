@@ -0,0 +1,13 @@
+-- Commande.date passe d'une chaîne à un horodatage : tris et recherches par période faits par la base.
+-- Les valeurs existantes (ex. 2024-01-01 ou 2024-01-01T12:30:00) sont converties ; les autres formats font échouer la migration.
+alter table commande add column date_heure timestamp;
+update commande set date_heure = cast(date as timestamp) where date is not null;
+-- Commandes anciennes sans date : placées au 1er janvier 1970, en fin d'historique et hors des indicateurs récents.
+-- La date devient obligatoire (curseur de l'historique client), comme elle l'est déjà à la création.
+update commande set date_heure = timestamp '1970-01-01 00:00:00' where date_heure is null;
+alter table commande alter column date_heure set not null;
+drop index idx_commande_client_date;
+alter table commande drop column date;
+alter table commande rename column date_heure to date;
+create index idx_commande_client_date on commande (client_id, date);
+create index idx_commande_date on commande (date);
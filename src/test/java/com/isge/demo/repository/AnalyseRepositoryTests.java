@@ -0,0 +1,54 @@
+package com.isge.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import com.isge.demo.dto.VentePlat;
+import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Plat;
+
+/**
+ * Agrégations des ventes sur une période isolée des données des autres tests.
+ */
+@SpringBootTest
+class AnalyseRepositoryTests {
+
+	private static final LocalDateTime DEBUT = LocalDateTime.of(2031, 3, 1, 0, 0);
+
+	@Autowired
+	private AnalyseRepository analyseRepository;
+
+	@Autowired
+	private CommandeRepository commandeRepository;
+
+	@Autowired
+	private PlatRepository platRepository;
+
+	@Test
+	void chiffreAffairesParPlatEnDecimal() {
+		Plat plat = platRepository.save(new Plat(null, "Bissap", 0.1, "Jus d'hibiscus", "boisson", List.of(), true));
+		for (int i = 0; i < 3; i++) {
+			Commande commande = new Commande();
+			commande.setDate(DEBUT.plusHours(i));
+			commande.setPlats(new ArrayList<>(List.of(plat)));
+			commandeRepository.save(commande);
+		}
+
+		List<VentePlat> ventes = analyseRepository.platsLesPlusVendus(DEBUT, DEBUT.plusDays(1), Limit.unlimited());
+
+		assertThat(ventes).singleElement().satisfies(vente -> {
+			assertThat(vente.quantite()).isEqualTo(3);
+			// En double, 0.1 + 0.1 + 0.1 donnerait 0.30000000000000004
+			assertThat(vente.chiffreAffaires()).isEqualByComparingTo(new BigDecimal("0.30"));
+		});
+	}
+}
@@ -0,0 +1,182 @@
+package com.isge.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.isge.demo.entity.Client;
+import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Menu;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.service.CommandeService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Vérifie que le nombre de requêtes SQL pour lister les commandes et les menus,
+ * puis parcourir leur graphe comme le fait Jackson, ne dépend pas du nombre de lignes.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ChargementAssociationsTests {
+
+	@Autowired
+	private CommandeRepository commandeRepository;
+
+	@Autowired
+	private MenuRepository menuRepository;
+
+	@Autowired
+	private PlatRepository platRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private CommandeService commandeService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		commandeRepository.deleteAll();
+		menuRepository.deleteAll();
+		platRepository.deleteAll();
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void listeCommandesAvecNombreDeRequetesConstant() {
+		List<Plat> plats = creerPlats(6);
+		Client client = new Client();
+		client.setNom("Jean Dupont");
+		client.setEmail("jean.dupont@example.com");
+		client = clientRepository.save(client);
+
+		creerCommandes(client, plats, 2);
+		long requetesPourDeuxCommandes = compterRequetes(this::parcourirCommandes);
+
+		creerCommandes(client, plats, 20);
+		long requetesPourVingtDeuxCommandes = compterRequetes(this::parcourirCommandes);
+
+		assertThat(requetesPourVingtDeuxCommandes).isEqualTo(requetesPourDeuxCommandes);
+	}
+
+	@Test
+	void exportCommandesAvecNombreDeRequetesConstant() {
+		List<Plat> plats = creerPlats(6);
+
+		// Un client par commande : le client doit être lu avec la commande, pas par une requête chacun
+		for (int i = 0; i < 2; i++) {
+			creerCommandes(creerClient(i), plats, 1);
+		}
+		long requetesPourDeuxCommandes = compterRequetes(this::exporterCommandes);
+
+		for (int i = 2; i < 22; i++) {
+			creerCommandes(creerClient(i), plats, 1);
+		}
+		List<String> exportees = new ArrayList<>();
+		statistics.clear();
+		commandeService.parcourirCommandes(commande -> {
+			assertThat(commande.getClient().getNom()).startsWith("Client ");
+			assertThat(commande.getPlats()).hasSize(3).allSatisfy(plat -> assertThat(plat.getAllergenes()).hasSize(2));
+			exportees.add(commande.getId());
+		});
+
+		assertThat(exportees).hasSize(22);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(requetesPourDeuxCommandes);
+	}
+
+	@Test
+	void listeMenusAvecNombreDeRequetesConstant() {
+		List<Plat> plats = creerPlats(6);
+
+		creerMenus(plats, 2);
+		long requetesPourDeuxMenus = compterRequetes(this::parcourirMenus);
+
+		creerMenus(plats, 20);
+		long requetesPourVingtDeuxMenus = compterRequetes(this::parcourirMenus);
+
+		assertThat(requetesPourVingtDeuxMenus).isEqualTo(requetesPourDeuxMenus);
+	}
+
+	private long compterRequetes(Runnable lecture) {
+		statistics.clear();
+		transactionTemplate.executeWithoutResult(status -> lecture.run());
+		return statistics.getPrepareStatementCount();
+	}
+
+	private void parcourirCommandes() {
+		for (Commande commande : commandeRepository.findAll()) {
+			commande.getClient().getNom();
+			commande.getPlats().forEach(plat -> plat.getAllergenes().size());
+		}
+	}
+
+	private void exporterCommandes() {
+		commandeService.parcourirCommandes(commande -> {
+			commande.getClient().getNom();
+			commande.getPlats().forEach(plat -> plat.getAllergenes().size());
+		});
+	}
+
+	private void parcourirMenus() {
+		for (Menu menu : menuRepository.findAll()) {
+			menu.getPlats().forEach(plat -> plat.getAllergenes().size());
+		}
+	}
+
+	private List<Plat> creerPlats(int nombre) {
+		List<Plat> plats = new ArrayList<>();
+		for (int i = 0; i < nombre; i++) {
+			plats.add(new Plat(null, "Plat " + i, 10 + i, "Description " + i, "principal",
+					List.of("gluten", "lactose"), true));
+		}
+		return platRepository.saveAll(plats);
+	}
+
+	private Client creerClient(int numero) {
+		Client client = new Client();
+		client.setNom("Client " + numero);
+		client.setEmail("export." + numero + "." + System.nanoTime() + "@example.com");
+		return clientRepository.save(client);
+	}
+
+	private void creerCommandes(Client client, List<Plat> plats, int nombre) {
+		List<Commande> commandes = new ArrayList<>();
+		for (int i = 0; i < nombre; i++) {
+			Commande commande = new Commande();
+			commande.setDate(LocalDateTime.of(2024, 1, 1, 12, 0));
+			commande.setClient(client);
+			commande.setPlats(new ArrayList<>(plats.subList(i % 3, i % 3 + 3)));
+			commandes.add(commande);
+		}
+		commandeRepository.saveAll(commandes);
+	}
+
+	private void creerMenus(List<Plat> plats, int nombre) {
+		List<Menu> menus = new ArrayList<>();
+		for (int i = 0; i < nombre; i++) {
+			Menu menu = new Menu();
+			menu.setNom("Menu " + i);
+			menu.setPlats(new ArrayList<>(plats.subList(i % 3, i % 3 + 3)));
+			menus.add(menu);
+		}
+		menuRepository.saveAll(menus);
+	}
+}
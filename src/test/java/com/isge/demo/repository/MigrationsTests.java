@@ -0,0 +1,53 @@
+package com.isge.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Migrations Flyway du profil prod, appliquées à une base H2 en mode PostgreSQL comme en production.
+ */
+class MigrationsTests {
+
+	private static final String URL = "jdbc:h2:mem:migrations;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+	@Test
+	void dateDesCommandesConvertieEtRendueObligatoire() throws SQLException {
+		migrer("2");
+		try (Connection connexion = DriverManager.getConnection(URL, "sa", "");
+			 Statement requete = connexion.createStatement()) {
+			requete.execute("insert into commande (id, date, statut) values ('c1', '2024-01-01T12:30:00', 'LIVREE')");
+			requete.execute("insert into commande (id, date, statut) values ('c2', null, 'LIVREE')");
+
+			migrer(null);
+
+			try (ResultSet lignes = requete.executeQuery("select id, date from commande order by id")) {
+				assertThat(lignes.next()).isTrue();
+				assertThat(lignes.getObject("date", LocalDateTime.class)).isEqualTo(LocalDateTime.of(2024, 1, 1, 12, 30));
+				assertThat(lignes.next()).isTrue();
+				assertThat(lignes.getObject("date", LocalDateTime.class)).isEqualTo(LocalDateTime.of(1970, 1, 1, 0, 0));
+			}
+			assertThatThrownBy(() -> requete.execute("insert into commande (id, statut) values ('c3', 'LIVREE')"))
+					.isInstanceOf(SQLException.class);
+		}
+	}
+
+	private static void migrer(String version) {
+		var configuration = Flyway.configure()
+				.dataSource(URL, "sa", "")
+				.locations("classpath:db/migration");
+		if (version != null) {
+			configuration.target(version);
+		}
+		configuration.load().migrate();
+	}
+}
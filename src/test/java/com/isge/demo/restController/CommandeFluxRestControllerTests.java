@@ -0,0 +1,193 @@
+package com.isge.demo.restController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.isge.demo.entity.Client;
+import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.entity.StatutCommande;
+import com.isge.demo.repository.ClientRepository;
+import com.isge.demo.repository.PlatRepository;
+import com.isge.demo.security.CustomUserDetails;
+import com.isge.demo.security.JwtUtil;
+import com.isge.demo.service.CommandeService;
+
+/**
+ * Flux SSE des commandes ({@code GET /api/commandes/flux}) : événements reçus, filtrage par statut
+ * et reprise par {@code Last-Event-ID} sur un historique réduit à trois événements.
+ */
+@SpringBootTest(properties = "commande.flux.taille-historique=3")
+@AutoConfigureMockMvc
+class CommandeFluxRestControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private CommandeService commandeService;
+
+	@Autowired
+	private PlatRepository platRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	private String jeton;
+
+	private Plat plat;
+
+	@BeforeEach
+	void setUp() {
+		Client admin = new Client();
+		admin.setNom("Admin Cuisine");
+		admin.setEmail("flux." + System.nanoTime() + "@example.com");
+		admin.setRole("ROLE_ADMIN");
+		admin = clientRepository.save(admin);
+		jeton = jwtUtil.generateToken(new CustomUserDetails(admin));
+		plat = platRepository.save(new Plat(null, "Garba", 1000, "Attiéké thon", "principal", List.of(), true));
+	}
+
+	@Test
+	void commandeQuittantUnStatutSuiviEstSignalee() throws Exception {
+		MvcResult flux = abonner("?statuts=EN_ATTENTE");
+
+		Commande avancee = commandeService.createCommande(nouvelleCommande());
+		commandeService.changerStatut(avancee.getId(), StatutCommande.EN_PREPARATION, null);
+		Commande supprimee = commandeService.createCommande(nouvelleCommande());
+		commandeService.deleteCommande(supprimee.getId());
+
+		String contenu = attendre(flux, "event:SUPPRIMEE");
+		assertThat(contenu)
+				.contains("event:CREEE")
+				.contains("event:STATUT_MODIFIE")
+				.contains(avancee.getId())
+				.contains(supprimee.getId());
+	}
+
+	@Test
+	void commandeHorsDesStatutsSuivisIgnoree() throws Exception {
+		MvcResult flux = abonner("?statuts=LIVREE");
+		MvcResult tous = abonner("");
+
+		Commande commande = commandeService.createCommande(nouvelleCommande());
+		commandeService.deleteCommande(commande.getId());
+
+		attendre(tous, "event:SUPPRIMEE");
+		assertThat(flux.getResponse().getContentAsString()).doesNotContain(commande.getId());
+	}
+
+	@Test
+	void repriseRejoueLesEvenementsManques() throws Exception {
+		MvcResult flux = abonner("");
+		Commande premiere = commandeService.createCommande(nouvelleCommande());
+		String dernierRecu = identifiant(attendre(flux, premiere.getId()), premiere.getId());
+
+		Commande deuxieme = commandeService.createCommande(nouvelleCommande());
+		Commande troisieme = commandeService.createCommande(nouvelleCommande());
+		attendre(flux, troisieme.getId());
+
+		MvcResult reprise = abonner("", dernierRecu);
+		String contenu = attendre(reprise, troisieme.getId());
+		assertThat(contenu)
+				.contains(deuxieme.getId())
+				.doesNotContain(premiere.getId())
+				.doesNotContain("RESYNCHRONISATION");
+	}
+
+	@Test
+	void repriseApresUnTrouResynchronise() throws Exception {
+		MvcResult flux = abonner("");
+		Commande premiere = commandeService.createCommande(nouvelleCommande());
+		String dernierRecu = identifiant(attendre(flux, premiere.getId()), premiere.getId());
+
+		// Quatre événements de plus : le suivant du dernier reçu a quitté l'historique
+		Commande derniere = null;
+		for (int i = 0; i < 4; i++) {
+			derniere = commandeService.createCommande(nouvelleCommande());
+		}
+		attendre(flux, derniere.getId());
+
+		String contenu = attendre(abonner("", dernierRecu), derniere.getId());
+		assertThat(contenu).startsWith("event:RESYNCHRONISATION");
+	}
+
+	@Test
+	void identifiantInconnuOuDUnAutreDemarrageResynchronise() throws Exception {
+		MvcResult flux = abonner("");
+		Commande commande = commandeService.createCommande(nouvelleCommande());
+		String identifiant = identifiant(attendre(flux, commande.getId()), commande.getId());
+		String demarrage = identifiant.substring(0, identifiant.lastIndexOf('-'));
+
+		// Ancien format numérique, identifiant d'un démarrage précédent, numéro jamais émis, numéro mal formé
+		for (String dernierRecu : List.of("5000", "0", "kzz0-1", demarrage + "-999999", demarrage + "-x")) {
+			assertThat(attendre(abonner("", dernierRecu), "event:RESYNCHRONISATION"))
+					.startsWith("event:RESYNCHRONISATION");
+		}
+	}
+
+	private MvcResult abonner(String parametres) throws Exception {
+		return abonner(parametres, null);
+	}
+
+	private MvcResult abonner(String parametres, String dernierEvenementId) throws Exception {
+		MockHttpServletRequestBuilder requete = get("/api/commandes/flux" + parametres)
+				.header("Authorization", "Bearer " + jeton)
+				.accept(MediaType.TEXT_EVENT_STREAM);
+		if (dernierEvenementId != null) {
+			requete.header("Last-Event-ID", dernierEvenementId);
+		}
+		return mockMvc.perform(requete)
+				.andExpect(request().asyncStarted())
+				.andReturn();
+	}
+
+	/**
+	 * Identifiant SSE du premier événement portant {@code commandeId}.
+	 */
+	private static String identifiant(String contenu, String commandeId) {
+		for (String evenement : contenu.split("\n\n")) {
+			if (evenement.startsWith("id:") && evenement.contains(commandeId)) {
+				return evenement.substring(3, evenement.indexOf('\n'));
+			}
+		}
+		throw new AssertionError("Aucun événement pour " + commandeId + " dans " + contenu);
+	}
+
+	/**
+	 * Les événements sont envoyés par le thread du flux : attend que la réponse contienne {@code attendu}.
+	 */
+	private static String attendre(MvcResult flux, String attendu) throws Exception {
+		long limite = System.currentTimeMillis() + 5000;
+		String contenu = flux.getResponse().getContentAsString();
+		while (!contenu.contains(attendu) && System.currentTimeMillis() < limite) {
+			Thread.sleep(20);
+			contenu = flux.getResponse().getContentAsString();
+		}
+		assertThat(contenu).contains(attendu);
+		return contenu;
+	}
+
+	private Commande nouvelleCommande() {
+		Commande commande = new Commande();
+		commande.setPlats(new ArrayList<>(List.of(plat)));
+		return commande;
+	}
+}
@@ -0,0 +1,204 @@
+package com.isge.demo.restController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.isge.demo.entity.Client;
+import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.entity.StatutCommande;
+import com.isge.demo.repository.ClientRepository;
+import com.isge.demo.repository.PlatRepository;
+import com.isge.demo.security.CustomUserDetails;
+import com.isge.demo.security.JwtUtil;
+import com.isge.demo.service.CommandeService;
+
+/**
+ * Transitions de statut d'une commande via {@code PATCH /api/commandes/{id}/statut}, export des commandes en flux
+ * et lots NDJSON, lus par paquets de deux commandes et limités à cinq.
+ */
+@SpringBootTest(properties = {"commande.lot.taille-paquet=2", "commande.lot.lignes-max=5"})
+@AutoConfigureMockMvc
+class CommandeRestControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private CommandeService commandeService;
+
+	@Autowired
+	private PlatRepository platRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private MappingJackson2CborHttpMessageConverter cborConverter;
+
+	private String jeton;
+
+	private Commande commande;
+
+	@BeforeEach
+	void setUp() {
+		Client admin = new Client();
+		admin.setNom("Admin Cuisine");
+		admin.setEmail("cuisine." + System.nanoTime() + "@example.com");
+		admin.setRole("ROLE_ADMIN");
+		admin = clientRepository.save(admin);
+		jeton = jwtUtil.generateToken(new CustomUserDetails(admin));
+
+		Plat plat = platRepository.save(new Plat(null, "Tô", 1500, "Tô sauce gombo", "principal", List.of(), true));
+		Commande nouvelle = new Commande();
+		nouvelle.setPlats(new ArrayList<>(List.of(plat)));
+		commande = commandeService.createCommande(nouvelle);
+	}
+
+	@Test
+	void etapeSuivanteAppliquee() throws Exception {
+		changerStatut(commande.getId(), "{\"statut\":\"EN_PREPARATION\",\"version\":" + commande.getVersion() + "}")
+				.andExpect(status().isNoContent());
+
+		Commande modifiee = commandeService.readCommande(commande.getId());
+		assertThat(modifiee.getStatut()).isEqualTo(StatutCommande.EN_PREPARATION);
+		assertThat(modifiee.getVersion()).isEqualTo(commande.getVersion() + 1);
+	}
+
+	@Test
+	void etapeSauteeEnConflit() throws Exception {
+		changerStatut(commande.getId(), "{\"statut\":\"PRETE\"}")
+				.andExpect(status().isConflict());
+
+		assertThat(commandeService.readCommande(commande.getId()).getStatut()).isEqualTo(StatutCommande.EN_ATTENTE);
+	}
+
+	@Test
+	void versionPerimeeEnConflit() throws Exception {
+		String corps = "{\"statut\":\"EN_PREPARATION\",\"version\":" + commande.getVersion() + "}";
+		changerStatut(commande.getId(), corps).andExpect(status().isNoContent());
+
+		// La même version ne vaut plus pour l'étape suivante
+		changerStatut(commande.getId(), "{\"statut\":\"PRETE\",\"version\":" + commande.getVersion() + "}")
+				.andExpect(status().isConflict());
+
+		assertThat(commandeService.readCommande(commande.getId()).getStatut()).isEqualTo(StatutCommande.EN_PREPARATION);
+	}
+
+	@Test
+	void commandeInconnueIntrouvable() throws Exception {
+		changerStatut("commande-inconnue", "{\"statut\":\"EN_PREPARATION\"}")
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void statutInconnuRejete() throws Exception {
+		changerStatut(commande.getId(), "{\"statut\":\"ANNULEE\"}")
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void statutInitialInatteignable() throws Exception {
+		changerStatut(commande.getId(), "{\"statut\":\"EN_ATTENTE\"}")
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void statutInchangeableParPut() throws Exception {
+		String platId = commande.getPlats().get(0).getId();
+		mockMvc.perform(put("/api/commandes/{id}", commande.getId())
+						.header("Authorization", "Bearer " + jeton)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"statut\":\"LIVREE\",\"plats\":[{\"id\":\"" + platId + "\"}]}"))
+				.andExpect(status().isConflict());
+		assertThat(commandeService.readCommande(commande.getId()).getStatut()).isEqualTo(StatutCommande.EN_ATTENTE);
+
+		// Le statut actuel (ou aucun) reste accepté
+		mockMvc.perform(put("/api/commandes/{id}", commande.getId())
+						.header("Authorization", "Bearer " + jeton)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"statut\":\"EN_ATTENTE\",\"plats\":[{\"id\":\"" + platId + "\"}]}"))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void exportEnSequenceCbor() throws Exception {
+		MvcResult resultat = mockMvc.perform(get("/api/commandes")
+						.header("Authorization", "Bearer " + jeton)
+						.accept("application/cbor-seq"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		byte[] corps = mockMvc.perform(asyncDispatch(resultat))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/cbor-seq"))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		List<String> ids = new ArrayList<>();
+		try (MappingIterator<JsonNode> lecteur = cborConverter.getObjectMapper().readerFor(JsonNode.class).readValues(corps)) {
+			lecteur.forEachRemaining(noeud -> ids.add(noeud.get("id").asText()));
+		}
+		assertThat(ids).contains(commande.getId());
+	}
+
+	@Test
+	void lotNdjsonLuParPaquets() throws Exception {
+		String ligne = "{\"plats\":[{\"id\":\"" + commande.getPlats().get(0).getId() + "\"}]}\n";
+		String corps = ligne + ligne + "{\"plats\":[{\"id\":\"plat-inconnu\"}]}\n" + ligne + ligne;
+		lot(corps)
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(5))
+				.andExpect(jsonPath("$[*].index").value(contains(0, 1, 2, 3, 4)))
+				.andExpect(jsonPath("$[*].statut").value(
+						contains("CREEE", "CREEE", "REJETEE", "CREEE", "CREEE")));
+	}
+
+	@Test
+	void lotNdjsonTropVolumineuxRejete() throws Exception {
+		String ligne = "{\"plats\":[{\"id\":\"" + commande.getPlats().get(0).getId() + "\"}]}\n";
+		lot(ligne.repeat(6))
+				.andExpect(status().isPayloadTooLarge())
+				.andExpect(jsonPath("$.details.traitees").value("4"));
+	}
+
+	private ResultActions lot(String corps) throws Exception {
+		return mockMvc.perform(post("/api/commandes/lot")
+				.header("Authorization", "Bearer " + jeton)
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.content(corps));
+	}
+
+	private ResultActions changerStatut(String id, String corps) throws Exception {
+		return mockMvc.perform(patch("/api/commandes/{id}/statut", id)
+				.header("Authorization", "Bearer " + jeton)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(corps));
+	}
+}
@@ -0,0 +1,108 @@
+package com.isge.demo.restController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.isge.demo.config.CacheConfig;
+import com.isge.demo.entity.Client;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.repository.ClientRepository;
+import com.isge.demo.security.CustomUserDetails;
+import com.isge.demo.security.JwtUtil;
+import com.isge.demo.service.PlatService;
+import com.isge.demo.service.VersionCatalogueService;
+
+/**
+ * Listes du catalogue servies avec un ETag : 304 tant que le catalogue ne change pas, 200 après une écriture.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PlatRestControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	@Autowired
+	private PlatService platService;
+
+	@Autowired
+	private VersionCatalogueService versionCatalogueService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private String jeton;
+
+	@BeforeEach
+	void setUp() {
+		Client admin = new Client();
+		admin.setNom("Admin Catalogue");
+		admin.setEmail("catalogue." + System.nanoTime() + "@example.com");
+		admin.setRole("ROLE_ADMIN");
+		admin = clientRepository.save(admin);
+		jeton = jwtUtil.generateToken(new CustomUserDetails(admin));
+		platService.createPlat(plat("Poulet bicyclette"));
+	}
+
+	@Test
+	void listeRevalideeParETag() throws Exception {
+		String etag = mockMvc.perform(get("/api/plats").header("Authorization", "Bearer " + jeton))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/plats").header("Authorization", "Bearer " + jeton)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+
+		platService.createPlat(plat("Attiéké poisson"));
+
+		String nouvelEtag = mockMvc.perform(get("/api/plats").header("Authorization", "Bearer " + jeton)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Attiéké poisson")))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(nouvelEtag).isNotEqualTo(etag);
+	}
+
+	@Test
+	void listeMiseEnCacheTardivementResteSousLAncienneVersion() throws Exception {
+		String ancienneVersion = versionCatalogueService.version();
+		List<Plat> ancienneListe = platService.allPlats();
+
+		platService.createPlat(plat("Sauce arachide"));
+		// Lecture commencée avant l'écriture, dont le résultat arrive en cache après elle
+		cacheManager.getCache(CacheConfig.PLATS).put(ancienneVersion, ancienneListe);
+
+		mockMvc.perform(get("/api/plats").header("Authorization", "Bearer " + jeton))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("Sauce arachide")));
+	}
+
+	private static Plat plat(String nom) {
+		return new Plat(null, nom, 3000, nom, "principal", List.of(), true);
+	}
+}
@@ -0,0 +1,147 @@
+package com.isge.demo.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.isge.demo.entity.Client;
+import com.isge.demo.service.ClientService;
+
+/**
+ * Pool BCrypt borné : regroupement des connexions identiques, refus (503) lorsque la file est pleine,
+ * inscription dont l'insertion ne retient pas un thread de hachage.
+ */
+class HachageMotDePasseTests {
+
+	private final CountDownLatch liberation = new CountDownLatch(1);
+
+	private final AtomicInteger verifications = new AtomicInteger();
+
+	private final ExecutorService executeurApplication = Executors.newSingleThreadExecutor();
+
+	private HachageMotDePasse hachageMotDePasse;
+
+	@BeforeEach
+	void setUp() {
+		// Chaque vérification reste bloquée jusqu'à la libération : le pool (1 thread, file de 1) se sature
+		AuthenticationManager authenticationManager = authentication -> {
+			verifications.incrementAndGet();
+			try {
+				liberation.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			UserDetails utilisateur = User.withUsername(authentication.getName()).password("").roles("CLIENT").build();
+			return new UsernamePasswordAuthenticationToken(utilisateur, null, utilisateur.getAuthorities());
+		};
+		hachageMotDePasse = new HachageMotDePasse(authenticationManager, new BCryptPasswordEncoder(4), 1, 1,
+				Duration.ofSeconds(3));
+	}
+
+	@AfterEach
+	void tearDown() {
+		liberation.countDown();
+		hachageMotDePasse.arreter();
+		executeurApplication.shutdownNow();
+	}
+
+	@Test
+	void connexionsIdentiquesSimultaneesPartagentUneVerification() throws Exception {
+		CompletableFuture<UserDetails> premiere = hachageMotDePasse.authentifier("awa@example.com", "secret");
+		CompletableFuture<UserDetails> seconde = hachageMotDePasse.authentifier("awa@example.com", "secret");
+
+		assertThat(seconde).isSameAs(premiere);
+		liberation.countDown();
+		assertThat(premiere.get(5, TimeUnit.SECONDS).getUsername()).isEqualTo("awa@example.com");
+		assertThat(verifications.get()).isEqualTo(1);
+
+		// Une fois la vérification terminée, une nouvelle tentative en refait une
+		hachageMotDePasse.authentifier("awa@example.com", "secret").get(5, TimeUnit.SECONDS);
+		assertThat(verifications.get()).isEqualTo(2);
+	}
+
+	@Test
+	void fileSatureeRefuseImmediatement() {
+		hachageMotDePasse.authentifier("a@example.com", "secret"); // en cours
+		hachageMotDePasse.authentifier("b@example.com", "secret"); // en file
+
+		assertThatThrownBy(() -> hachageMotDePasse.authentifier("c@example.com", "secret"))
+				.isInstanceOf(RejectedExecutionException.class);
+		assertThatThrownBy(() -> hachageMotDePasse.encoder("secret"))
+				.isInstanceOf(RejectedExecutionException.class);
+	}
+
+	@Test
+	void fileSatureeReponse503AvecRetryAfter() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controleur(mock(ClientService.class))).build();
+		hachageMotDePasse.authentifier("a@example.com", "secret");
+		hachageMotDePasse.authentifier("b@example.com", "secret");
+
+		mockMvc.perform(post("/api/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"c@example.com\",\"password\":\"secret\"}"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string("Retry-After", "3"));
+	}
+
+	@Test
+	void inscriptionEnregistreLeClientHorsDuPoolDeHachage() throws Exception {
+		AtomicReference<String> threadInsertion = new AtomicReference<>();
+		ClientService clientService = mock(ClientService.class);
+		when(clientService.createClient(any())).thenAnswer(invocation -> {
+			threadInsertion.set(Thread.currentThread().getName());
+			return invocation.getArgument(0, Client.class);
+		});
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controleur(clientService)).build();
+
+		MvcResult resultat = mockMvc.perform(post("/api/auth/register")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"nom\":\"Awa\",\"email\":\"awa@example.com\",\"password\":\"secret\",\"role\":\"CLIENT\"}"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(resultat)).andExpect(status().isOk());
+
+		assertThat(threadInsertion.get()).isNotNull().doesNotStartWith("hachage-");
+	}
+
+	private AuthentificationController controleur(ClientService clientService) {
+		AuthentificationController controleur = new AuthentificationController();
+		ReflectionTestUtils.setField(controleur, "hachageMotDePasse", hachageMotDePasse);
+		ReflectionTestUtils.setField(controleur, "clientService", clientService);
+		ReflectionTestUtils.setField(controleur, "executor", executeurApplication);
+		ReflectionTestUtils.setField(controleur, "jwtUtil",
+				new JwtUtil("cle_de_test_suffisamment_longue_pour_hs256_0123456789", 60_000));
+		return controleur;
+	}
+}
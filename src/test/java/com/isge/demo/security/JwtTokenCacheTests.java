@@ -0,0 +1,105 @@
+package com.isge.demo.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.isge.demo.entity.Client;
+import com.isge.demo.service.ClientService;
+
+/**
+ * Vérifie qu'un jeton déjà vérifié est revérifié après une modification du client.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtTokenCacheTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private JwtTokenCache jwtTokenCache;
+
+	@Autowired
+	private ClientService clientService;
+
+	private Client client;
+
+	private String jeton;
+
+	@BeforeEach
+	void setUp() {
+		Client nouveau = new Client();
+		nouveau.setNom("Admin Jeton");
+		nouveau.setEmail("admin.jeton." + System.nanoTime() + "@example.com");
+		nouveau.setPassword("hash-initial");
+		nouveau.setRole("ROLE_ADMIN");
+		client = clientService.createClient(nouveau);
+		jeton = jwtUtil.generateToken(new CustomUserDetails(client));
+	}
+
+	@Test
+	void changementEmailRevoqueLeJeton() throws Exception {
+		mockMvc.perform(get("/api/clients").header("Authorization", "Bearer " + jeton))
+				.andExpect(status().isOk());
+		assertThat(jwtTokenCache.get(jeton)).isNotNull();
+
+		client.setEmail("autre." + client.getEmail());
+		client = clientService.updateClient(client);
+
+		assertThat(jwtTokenCache.get(jeton)).isNull();
+		// Le sujet du jeton ne correspond plus à aucun client
+		mockMvc.perform(get("/api/clients").header("Authorization", "Bearer " + jeton))
+				.andExpect(status().isForbidden());
+		assertThat(jwtTokenCache.get(jeton)).isNull();
+	}
+
+	@Test
+	void changementMotDePasseRechargeLeClient() throws Exception {
+		mockMvc.perform(get("/api/clients").header("Authorization", "Bearer " + jeton))
+				.andExpect(status().isOk());
+		assertThat(jwtTokenCache.get(jeton).getPassword()).isEqualTo("hash-initial");
+
+		client.setPassword("hash-modifie");
+		client = clientService.updateClient(client);
+
+		assertThat(jwtTokenCache.get(jeton)).isNull();
+		mockMvc.perform(get("/api/clients").header("Authorization", "Bearer " + jeton))
+				.andExpect(status().isOk());
+		assertThat(jwtTokenCache.get(jeton).getPassword()).isEqualTo("hash-modifie");
+	}
+
+	@Test
+	void verificationAnterieureAUneInvalidationNEstPasMiseEnCache() {
+		long marque = jwtTokenCache.marque();
+		jwtTokenCache.invalider(client.getId());
+
+		jwtTokenCache.put(jeton, new CustomUserDetails(client), jwtUtil.extractExpiration(jeton), marque);
+
+		assertThat(jwtTokenCache.get(jeton)).isNull();
+	}
+
+	@Test
+	void jetonSansExpirationNEstPasMisEnCache() {
+		jwtTokenCache.put(jeton, new CustomUserDetails(client), null, jwtTokenCache.marque());
+
+		assertThat(jwtTokenCache.get(jeton)).isNull();
+
+		jwtTokenCache.put(jeton, new CustomUserDetails(client), new Date(System.currentTimeMillis() + 60_000),
+				jwtTokenCache.marque());
+
+		assertThat(jwtTokenCache.get(jeton)).isNotNull();
+	}
+}
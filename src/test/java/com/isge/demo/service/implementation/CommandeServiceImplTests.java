@@ -0,0 +1,140 @@
+package com.isge.demo.service.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.isge.demo.dto.CommandeResume;
+import com.isge.demo.dto.PageCurseur;
+import com.isge.demo.dto.ResultatLot;
+import com.isge.demo.entity.Client;
+import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.repository.ClientRepository;
+import com.isge.demo.repository.PlatRepository;
+import com.isge.demo.service.CommandeService;
+
+@SpringBootTest
+class CommandeServiceImplTests {
+
+	@Autowired
+	private CommandeService commandeService;
+
+	@Autowired
+	private PlatRepository platRepository;
+
+	@Autowired
+	private ClientRepository clientRepository;
+
+	private Plat plat;
+
+	private Client client;
+
+	@BeforeEach
+	void setUp() {
+		plat = platRepository.save(new Plat(null, "Riz gras", 2500, "Riz au poulet", "principal", List.of(), true));
+		Client nouveau = new Client();
+		nouveau.setNom("Awa Ouedraogo");
+		nouveau.setEmail("awa." + System.nanoTime() + "@example.com");
+		client = clientRepository.save(nouveau);
+	}
+
+	@Test
+	void lotMixteRejetteChaqueCommandeInvalideSansBloquerLesAutres() {
+		List<Commande> lot = Arrays.asList(
+				commande(client.getId(), plat.getId()),
+				commande("client-inconnu", plat.getId()),
+				commande(client.getId(), "plat-inconnu"),
+				null,
+				commande(null, plat.getId()),
+				commande(client.getId(), null));
+
+		List<ResultatLot> resultats = commandeService.createCommandes(lot);
+
+		assertThat(resultats).extracting(ResultatLot::index).containsExactly(0, 1, 2, 3, 4, 5);
+		assertThat(resultats).extracting(ResultatLot::statut).containsExactly(
+				ResultatLot.Statut.CREEE,
+				ResultatLot.Statut.REJETEE,
+				ResultatLot.Statut.REJETEE,
+				ResultatLot.Statut.REJETEE,
+				ResultatLot.Statut.REJETEE,
+				ResultatLot.Statut.REJETEE);
+		assertThat(resultats.get(0).id()).isNotNull();
+		assertThat(resultats.get(1).message()).contains("client-inconnu");
+		assertThat(resultats.get(2).message()).contains("plat-inconnu");
+
+		Commande creee = commandeService.readCommande(resultats.get(0).id());
+		assertThat(creee.getPrixTotal()).isEqualTo(new BigDecimal("2500.00"));
+	}
+
+	@Test
+	void lotDontAucuneCommandeNIdentifieDeClient() {
+		List<ResultatLot> resultats = commandeService.createCommandes(List.of(
+				commande(null, plat.getId()),
+				sansClient(plat.getId())));
+
+		assertThat(resultats).extracting(ResultatLot::statut)
+				.containsExactly(ResultatLot.Statut.REJETEE, ResultatLot.Statut.CREEE);
+	}
+
+	@Test
+	void historiqueClientParcouruPageParPage() {
+		LocalDateTime midi = LocalDateTime.of(2026, 3, 2, 12, 0);
+		List<String> attendus = new ArrayList<>();
+		// Deux commandes à la même date : départagées par l'identifiant
+		for (LocalDateTime date : List.of(midi.minusDays(2), midi, midi, midi.minusHours(1), midi.plusMinutes(5))) {
+			Commande commande = commande(client.getId(), plat.getId());
+			commande.setDate(date);
+			attendus.add(commandeService.createCommande(commande).getId());
+		}
+		// Mise à jour sans date dans le corps : la commande garde sa place dans l'historique
+		Commande modifiee = commande(client.getId(), plat.getId());
+		modifiee.setId(attendus.get(3));
+		commandeService.updateCommande(modifiee);
+		assertThat(commandeService.readCommande(attendus.get(3)).getDate()).isEqualTo(midi.minusHours(1));
+
+		List<CommandeResume> lues = new ArrayList<>();
+		String curseur = null;
+		int pages = 0;
+		do {
+			PageCurseur<CommandeResume> page = commandeService.pageCommandesClient(client.getId(), curseur, 2);
+			lues.addAll(page.contenu());
+			curseur = page.curseurSuivant();
+			pages++;
+		} while (curseur != null);
+
+		assertThat(pages).isEqualTo(3);
+		assertThat(lues).extracting(CommandeResume::id).containsExactlyInAnyOrderElementsOf(attendus);
+		assertThat(lues).extracting(CommandeResume::date).isSortedAccordingTo((a, b) -> b.compareTo(a));
+		assertThat(lues.get(0).id()).isEqualTo(attendus.get(4));
+		assertThat(lues.get(4).id()).isEqualTo(attendus.get(0));
+	}
+
+	/**
+	 * Commande telle que désérialisée depuis {@code {"client":{"id":...},"plats":[{"id":...}]}}.
+	 */
+	private static Commande commande(String clientId, String platId) {
+		Commande commande = sansClient(platId);
+		Client reference = new Client();
+		reference.setId(clientId);
+		commande.setClient(reference);
+		return commande;
+	}
+
+	private static Commande sansClient(String platId) {
+		Plat reference = new Plat();
+		reference.setId(platId);
+		Commande commande = new Commande();
+		commande.setPlats(new ArrayList<>(List.of(reference)));
+		return commande;
+	}
+}
@@ -0,0 +1,116 @@
+package com.isge.demo.service.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.isge.demo.dto.LigneMenuVue;
+import com.isge.demo.dto.PlatResume;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.repository.MenuRepository;
+import com.isge.demo.repository.PlatRepository;
+
+/**
+ * Index des allergènes : union des exclusions, mises à jour des plats et des menus, normalisation des noms.
+ */
+class IndexAllergenesServiceImplTests {
+
+	private final PlatRepository platRepository = mock(PlatRepository.class);
+
+	private final MenuRepository menuRepository = mock(MenuRepository.class);
+
+	private IndexAllergenesServiceImpl index;
+
+	@BeforeEach
+	void setUp() {
+		when(platRepository.findAll()).thenReturn(List.of(
+				plat("p1", "Alloco", "accompagnement", true),
+				plat("p2", "Brochettes", "principal", true, "arachide"),
+				plat("p3", "Gâteau", "dessert", true, "gluten", "oeuf"),
+				plat("p4", "Beignets", "dessert", false, "gluten")));
+		when(menuRepository.findLignesVue()).thenReturn(List.of(
+				ligne("m1", "p1"), ligne("m1", "p2"),
+				ligne("m2", "p1"), ligne("m2", "p3"),
+				ligne("m3", null)));
+		index = new IndexAllergenesServiceImpl();
+		ReflectionTestUtils.setField(index, "platRepository", platRepository);
+		ReflectionTestUtils.setField(index, "menuRepository", menuRepository);
+		index.construire();
+	}
+
+	@Test
+	void exclusionDeLUnionDesAllergenes() {
+		assertThat(ids(index.platsSans(List.of("arachide", "oeuf"), false))).containsExactly("p1", "p4");
+		assertThat(ids(index.platsSans(List.of("arachide", "oeuf"), true))).containsExactly("p1");
+		assertThat(index.platsAvec(List.of("arachide", "gluten"))).containsExactlyInAnyOrder("p2", "p3", "p4");
+		assertThat(index.menusSans(List.of("arachide"))).containsExactlyInAnyOrder("m2", "m3");
+		assertThat(index.menusSans(List.of("arachide", "gluten"))).containsExactly("m3");
+	}
+
+	@Test
+	void allergeneInconnuNExclutRien() {
+		assertThat(ids(index.platsSans(List.of("moutarde"), false))).containsExactly("p1", "p4", "p3", "p2");
+		assertThat(index.platsAvec(List.of("moutarde"))).isEmpty();
+		assertThat(index.menusSans(null)).containsExactlyInAnyOrder("m1", "m2", "m3");
+	}
+
+	@Test
+	void nomsComparesSansCasseNiEspaces() {
+		index.platModifie(plat("p5", "Salade", "entree", true, "  Sésame "));
+
+		assertThat(index.platsAvec(List.of("SÉSAME"))).containsExactly("p5");
+		assertThat(index.platsAvec(List.of(" Arachide"))).containsExactly("p2");
+	}
+
+	@Test
+	void platModifieGardeSaPosition() {
+		index.platModifie(plat("p2", "Brochettes", "principal", true, "sesame"));
+
+		assertThat(index.platsAvec(List.of("arachide"))).isEmpty();
+		assertThat(index.platsAvec(List.of("sesame"))).containsExactly("p2");
+		// Le menu pointe toujours sur la position du plat, qui porte maintenant ses nouveaux allergènes
+		assertThat(index.menusSans(List.of("arachide"))).containsExactlyInAnyOrder("m1", "m2", "m3");
+		assertThat(index.menusSans(List.of("sesame"))).containsExactlyInAnyOrder("m2", "m3");
+	}
+
+	@Test
+	void platSupprimeRetireDesResultats() {
+		index.platSupprime("p3");
+
+		assertThat(index.platsAvec(List.of("gluten"))).containsExactly("p4");
+		assertThat(index.platsAvec(List.of("oeuf"))).isEmpty();
+		assertThat(ids(index.platsSans(List.of(), false))).containsExactly("p1", "p4", "p2");
+
+		index.platSupprime("p-inconnu");
+		assertThat(ids(index.platsSans(List.of(), false))).containsExactly("p1", "p4", "p2");
+	}
+
+	@Test
+	void menuModifieRelitSaComposition() {
+		when(menuRepository.findLignesVue(List.of("m1"))).thenReturn(List.of(ligne("m1", "p1")));
+		index.menuModifie("m1");
+		assertThat(index.menusSans(List.of("arachide"))).containsExactlyInAnyOrder("m1", "m2", "m3");
+
+		when(menuRepository.findLignesVue(List.of("m1"))).thenReturn(List.of());
+		index.menuModifie("m1");
+		assertThat(index.menusSans(List.of())).containsExactlyInAnyOrder("m2", "m3");
+	}
+
+	private static List<String> ids(List<PlatResume> plats) {
+		return plats.stream().map(PlatResume::id).toList();
+	}
+
+	private static Plat plat(String id, String nom, String categorie, boolean disponible, String... allergenes) {
+		return new Plat(id, nom, 1000, nom, categorie, List.of(allergenes), disponible);
+	}
+
+	private static LigneMenuVue ligne(String menuId, String platId) {
+		return new LigneMenuVue(menuId, menuId, null, 0, platId, null, null, null, null, null);
+	}
+}
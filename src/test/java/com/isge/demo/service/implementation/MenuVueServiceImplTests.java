@@ -0,0 +1,65 @@
+package com.isge.demo.service.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import com.isge.demo.config.CacheConfig;
+import com.isge.demo.dto.MenuVue;
+import com.isge.demo.entity.Menu;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.service.MenuService;
+import com.isge.demo.service.MenuVueService;
+import com.isge.demo.service.PlatService;
+
+@SpringBootTest
+class MenuVueServiceImplTests {
+
+	@Autowired
+	private MenuVueService menuVueService;
+
+	@Autowired
+	private MenuService menuService;
+
+	@Autowired
+	private PlatService platService;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Test
+	void menuInconnuNOccupePasLeCache() {
+		assertThat(menuVueService.menuVue("menu-inconnu")).isNull();
+
+		assertThat(cache().get("menu-inconnu")).isNull();
+	}
+
+	@Test
+	void vueReconstruiteApresModificationDUnPlat() {
+		Plat plat = platService.createPlat(new Plat(null, "Brochettes", 2000, null, "principal", List.of("arachide"), true));
+		Menu menu = new Menu();
+		menu.setNom("Menu grillades");
+		menu.setPlats(new ArrayList<>(List.of(plat)));
+		menu = menuService.createMenu(menu);
+
+		MenuVue vue = menuVueService.menuVue(menu.getId());
+		assertThat(vue.allergenes()).containsExactly("arachide");
+
+		plat.setAllergenes(new ArrayList<>(List.of("sesame")));
+		platService.updatePlat(plat);
+
+		assertThat(cache().get(menu.getId(), MenuVue.class).allergenes()).containsExactly("sesame");
+		assertThat(menuVueService.menuVue(menu.getId()).allergenes()).containsExactly("sesame");
+	}
+
+	private Cache cache() {
+		return cacheManager.getCache(CacheConfig.MENU_VUES);
+	}
+}
@@ -0,0 +1,124 @@
+package com.isge.demo.service.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.isge.demo.dto.PageRecherche;
+import com.isge.demo.dto.ResultatRecherche;
+import com.isge.demo.entity.Menu;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.repository.MenuRepository;
+import com.isge.demo.repository.PlatRepository;
+
+/**
+ * Recherche plein texte sur l'index en mémoire : préfixes, fautes de frappe, accents, classement et pagination.
+ */
+class RechercheServiceImplTests {
+
+	private RechercheServiceImpl recherche;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		recherche = new RechercheServiceImpl();
+		ReflectionTestUtils.setField(recherche, "platRepository", mock(PlatRepository.class));
+		ReflectionTestUtils.setField(recherche, "menuRepository", mock(MenuRepository.class));
+		recherche.platModifie(plat("p1", "Poulet braisé", "Cuisse grillée au feu de bois", "principal"));
+		recherche.platModifie(plat("p2", "Riz gras", "Riz cuit avec du poulet et des légumes", "principal"));
+		recherche.platModifie(plat("p3", "Crème brûlée", "Crème à la vanille", "dessert"));
+		recherche.platModifie(plat("p4", "Salade d'avocat", "Avocat, tomate et oignon", "entrée"));
+		Menu menu = new Menu();
+		menu.setId("m1");
+		menu.setNom("Menu poulet");
+		menu.setDescription("Poulet braisé et alloco");
+		recherche.menuModifie(menu);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		recherche.fermer();
+	}
+
+	@Test
+	void debutDeMot() {
+		assertThat(ids("poul", ResultatRecherche.Type.PLAT)).containsExactlyInAnyOrder("p1", "p2");
+		assertThat(ids("vani", null)).containsExactly("p3");
+	}
+
+	@Test
+	void fauteDeFrappe() {
+		assertThat(ids("poulte", ResultatRecherche.Type.PLAT)).containsExactlyInAnyOrder("p1", "p2");
+		assertThat(ids("vanile", null)).containsExactly("p3");
+		// Aucune faute tolérée sur les mots de trois lettres
+		assertThat(ids("ris", null)).isEmpty();
+	}
+
+	@Test
+	void accentsMajusculesEtElisions() {
+		assertThat(ids("CREME BRULEE", null)).containsExactly("p3");
+		assertThat(ids("entree", null)).containsExactly("p4");
+		assertThat(ids("l'avocat", null)).containsExactly("p4");
+	}
+
+	@Test
+	void correspondanceDansLeNomClasseePlusHaut() {
+		assertThat(ids("poulet", ResultatRecherche.Type.PLAT)).containsExactly("p1", "p2");
+		assertThat(ids("poulet", null)).containsExactly("m1", "p1", "p2");
+		assertThat(ids("riz", null)).containsExactly("p2");
+	}
+
+	@Test
+	void chaqueMotEstObligatoire() {
+		assertThat(ids("poulet riz", null)).containsExactly("p2");
+		assertThat(ids("poulet vanille", null)).isEmpty();
+		assertThat(ids("  ", null)).isEmpty();
+	}
+
+	@Test
+	void modificationsVisiblesALaRechercheSuivante() {
+		recherche.platModifie(plat("p2", "Riz sauce arachide", "Riz blanc et sauce arachide", "principal"));
+		assertThat(ids("poulet", ResultatRecherche.Type.PLAT)).containsExactly("p1");
+
+		recherche.platSupprime("p1");
+		recherche.menuSupprime("m1");
+		assertThat(ids("poulet", null)).isEmpty();
+	}
+
+	@Test
+	void paginationBornee() {
+		PageRecherche page = recherche.rechercher("poulet", null, 1, 2);
+		assertThat(page.resultats()).extracting(ResultatRecherche::id).containsExactly("p2");
+		assertThat(page.total()).isEqualTo(3);
+
+		assertThat(recherche.rechercher("poulet", null, 249, 4).resultats()).isEmpty();
+		assertThatIllegalArgumentException().isThrownBy(() -> recherche.rechercher("poulet", null, 250, 4));
+		assertThatIllegalArgumentException().isThrownBy(() -> recherche.rechercher("poulet", null, -1, 4));
+		assertThatIllegalArgumentException().isThrownBy(() -> recherche.rechercher("poulet", null, 0, 0));
+		// (page + 1) * taille déborderait et donnerait 4
+		assertThatIllegalArgumentException().isThrownBy(() -> recherche.rechercher("poulet", null, 1 << 30, 4));
+	}
+
+	@Test
+	void totalExactAuDelaDuSeuilDeComptage() {
+		for (int i = 0; i < 1500; i++) {
+			recherche.platModifie(plat("x" + i, "Poisson " + i, "Poisson braisé", "principal"));
+		}
+		assertThat(recherche.rechercher("poisson", null, 0, 10).total()).isEqualTo(1500);
+	}
+
+	private List<String> ids(String texte, ResultatRecherche.Type type) {
+		return recherche.rechercher(texte, type, 0, 20).resultats().stream().map(ResultatRecherche::id).toList();
+	}
+
+	private static Plat plat(String id, String nom, String description, String categorie) {
+		return new Plat(id, nom, 2500, description, categorie, List.of(), true);
+	}
+}
@@ -0,0 +1,229 @@
+package com.isge.demo.service.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.isge.demo.dto.CommandesParStatut;
+import com.isge.demo.dto.TableauDeBord;
+import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.entity.StatutCommande;
+import com.isge.demo.event.CommandeEvenement;
+import com.isge.demo.event.EtatCommande;
+import com.isge.demo.repository.AnalyseRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Compteurs du tableau de bord : application des événements, passage à minuit et recalcul.
+ */
+class TableauDeBordServiceImplTests {
+
+	private static final LocalDateTime SOIR = LocalDateTime.of(2026, 3, 2, 23, 50);
+
+	private final HorlogeReglable horloge = new HorlogeReglable(SOIR);
+
+	private final AnalyseRepository analyseRepository = mock(AnalyseRepository.class);
+
+	private TableauDeBordServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		when(analyseRepository.commandesParStatut()).thenReturn(List.of());
+		when(analyseRepository.chiffreAffaires(any(), any())).thenReturn(BigDecimal.ZERO);
+		service = new TableauDeBordServiceImpl();
+		ReflectionTestUtils.setField(service, "analyseRepository", analyseRepository);
+		ReflectionTestUtils.setField(service, "transactionTemplate",
+				new TransactionTemplate(mock(PlatformTransactionManager.class)));
+		ReflectionTestUtils.setField(service, "horloge", horloge);
+		ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+		service.reconcilier();
+	}
+
+	@Test
+	void creationModificationStatutEtSuppression() {
+		Commande commande = commande("c1", SOIR.minusHours(2), "12.50", "riz", "riz");
+		service.appliquer(CommandeEvenement.creee(commande));
+
+		TableauDeBord tableau = service.tableauDeBord();
+		assertThat(tableau.commandesDuJour()).isEqualTo(1);
+		assertThat(tableau.chiffreAffairesDuJour()).isEqualByComparingTo("12.50");
+		assertThat(tableau.platsVendusDuJour()).containsEntry("riz", 2L);
+		assertThat(tableau.commandesParStatut()).containsEntry(StatutCommande.EN_ATTENTE, 1L);
+
+		EtatCommande avant = EtatCommande.de(commande);
+		Commande modifiee = commande("c1", SOIR.minusHours(2), "8.00", "to");
+		service.appliquer(CommandeEvenement.modifiee(modifiee, avant));
+
+		tableau = service.tableauDeBord();
+		assertThat(tableau.commandesDuJour()).isEqualTo(1);
+		assertThat(tableau.chiffreAffairesDuJour()).isEqualByComparingTo("8.00");
+		assertThat(tableau.platsVendusDuJour()).containsOnlyKeys("to").containsEntry("to", 1L);
+
+		service.appliquer(CommandeEvenement.statutModifie("c1", StatutCommande.EN_ATTENTE, StatutCommande.EN_PREPARATION));
+
+		tableau = service.tableauDeBord();
+		assertThat(tableau.commandesParStatut())
+				.containsEntry(StatutCommande.EN_ATTENTE, 0L)
+				.containsEntry(StatutCommande.EN_PREPARATION, 1L);
+
+		modifiee.setStatut(StatutCommande.EN_PREPARATION);
+		service.appliquer(CommandeEvenement.supprimee("c1", EtatCommande.de(modifiee)));
+
+		tableau = service.tableauDeBord();
+		assertThat(tableau.commandesDuJour()).isZero();
+		assertThat(tableau.chiffreAffairesDuJour()).isEqualByComparingTo("0");
+		assertThat(tableau.platsVendusDuJour()).isEmpty();
+		assertThat(tableau.commandesParStatut()).containsEntry(StatutCommande.EN_PREPARATION, 0L);
+	}
+
+	@Test
+	void commandeDUnAutreJourNeCompteQuePourSonStatut() {
+		service.appliquer(CommandeEvenement.creee(commande("c1", SOIR.minusDays(1), "5.00", "riz")));
+
+		TableauDeBord tableau = service.tableauDeBord();
+		assertThat(tableau.commandesDuJour()).isZero();
+		assertThat(tableau.commandesParStatut()).containsEntry(StatutCommande.EN_ATTENTE, 1L);
+	}
+
+	@Test
+	void remiseAZeroAMinuitSaufStatuts() {
+		service.appliquer(CommandeEvenement.creee(commande("c1", SOIR, "10.00", "riz")));
+
+		horloge.regler(SOIR.plusMinutes(20));
+
+		TableauDeBord tableau = service.tableauDeBord();
+		assertThat(tableau.jour()).isEqualTo(SOIR.toLocalDate().plusDays(1));
+		assertThat(tableau.commandesDuJour()).isZero();
+		assertThat(tableau.chiffreAffairesDuJour()).isEqualByComparingTo("0");
+		assertThat(tableau.platsVendusDuJour()).isEmpty();
+		assertThat(tableau.commandesParStatut()).containsEntry(StatutCommande.EN_ATTENTE, 1L);
+
+		service.appliquer(CommandeEvenement.creee(commande("c2", SOIR.plusMinutes(20), "4.00", "to")));
+		assertThat(service.tableauDeBord().commandesDuJour()).isEqualTo(1);
+	}
+
+	@Test
+	void evenementRecuPendantLeRecalculRejoueSurLesNouveauxCompteurs() {
+		// La base ne contient pas encore la commande validée pendant la lecture des agrégats
+		when(analyseRepository.commandesParStatut()).thenAnswer(invocation -> {
+			service.appliquer(CommandeEvenement.creee(commande("c1", SOIR, "7.00", "riz")));
+			return List.of(new CommandesParStatut(StatutCommande.LIVREE, 3));
+		});
+
+		service.reconcilier();
+
+		TableauDeBord tableau = service.tableauDeBord();
+		assertThat(tableau.commandesParStatut())
+				.containsEntry(StatutCommande.LIVREE, 3L)
+				.containsEntry(StatutCommande.EN_ATTENTE, 1L);
+		assertThat(tableau.commandesDuJour()).isEqualTo(1);
+		assertThat(tableau.chiffreAffairesDuJour()).isEqualByComparingTo("7.00");
+
+		service.appliquer(CommandeEvenement.creee(commande("c2", SOIR, "1.00", "to")));
+		assertThat(service.tableauDeBord().commandesParStatut()).containsEntry(StatutCommande.EN_ATTENTE, 2L);
+	}
+
+	@Test
+	void transactionValideeAvantLInstantaneNestPasRejouee() throws Exception {
+		when(analyseRepository.commandesParStatut()).thenReturn(List.of(new CommandesParStatut(StatutCommande.EN_ATTENTE, 1)));
+		when(analyseRepository.compterCommandes(any(), any())).thenReturn(1L);
+		when(analyseRepository.chiffreAffaires(any(), any())).thenReturn(new BigDecimal("7.00"));
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			// Événement numéroté avant la validation de sa transaction
+			service.appliquer(CommandeEvenement.creee(commande("c1", SOIR, "7.00", "riz")));
+			List<TransactionSynchronization> synchronisations = TransactionSynchronizationManager.getSynchronizations();
+
+			// Le recalcul attend la validation pour ouvrir son instantané, qui contient donc la commande
+			Thread recalcul = new Thread(service::reconcilier);
+			recalcul.start();
+			recalcul.join(200);
+			assertThat(recalcul.isAlive()).isTrue();
+
+			synchronisations.forEach(synchronisation -> synchronisation.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+			recalcul.join(5000);
+			assertThat(recalcul.isAlive()).isFalse();
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		TableauDeBord tableau = service.tableauDeBord();
+		assertThat(tableau.commandesParStatut()).containsEntry(StatutCommande.EN_ATTENTE, 1L);
+		assertThat(tableau.commandesDuJour()).isEqualTo(1);
+		assertThat(tableau.chiffreAffairesDuJour()).isEqualByComparingTo("7.00");
+	}
+
+	@Test
+	void transactionAnnuleeNestPasComptee() {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			service.appliquer(CommandeEvenement.creee(commande("c1", SOIR, "7.00", "riz")));
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(synchronisation -> synchronisation.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertThat(service.tableauDeBord().commandesDuJour()).isZero();
+		// Le verrou partagé a été rendu : un recalcul peut avoir lieu
+		service.reconcilier();
+	}
+
+	private static Commande commande(String id, LocalDateTime date, String prixTotal, String... platIds) {
+		List<Plat> plats = new ArrayList<>();
+		for (String platId : platIds) {
+			Plat plat = new Plat();
+			plat.setId(platId);
+			plats.add(plat);
+		}
+		return new Commande(id, date, plats, StatutCommande.EN_ATTENTE, null, new BigDecimal(prixTotal), 0L);
+	}
+
+	private static final class HorlogeReglable extends Clock {
+		private volatile Instant instant;
+
+		HorlogeReglable(LocalDateTime dateHeure) {
+			regler(dateHeure);
+		}
+
+		void regler(LocalDateTime dateHeure) {
+			instant = dateHeure.toInstant(ZoneOffset.UTC);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return instant;
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.isge.demo.service.implementation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.isge.demo.entity.Commande;
+import com.isge.demo.entity.Plat;
+import com.isge.demo.exception.ResourceNotFoundException;
+
+/**
+ * Calcul du prix total d'une commande à partir des plats du catalogue.
+ */
+class TarificationServiceImplTests {
+
+	private final TarificationServiceImpl tarificationService = new TarificationServiceImpl();
+
+	@Test
+	void totalArrondiAuCentimeSuperieurAPartirDeLaMoitie() {
+		// 0.1 + 0.2 vaut 0.30000000000000004 en double ; 2.675 n'est pas représentable exactement
+		Map<String, Plat> plats = Map.of(
+				"a", plat("a", 0.1),
+				"b", plat("b", 0.2),
+				"c", plat("c", 2.675),
+				"d", plat("d", 0.005));
+		Commande commande = commande(reference("a"), reference("b"), reference("c"), reference("d"), reference("a"));
+
+		tarificationService.tarifer(commande, plats);
+
+		// 0.1 + 0.2 + 2.675 + 0.005 + 0.1 = 3.080 exactement en BigDecimal
+		assertThat(commande.getPrixTotal()).isEqualTo(new BigDecimal("3.08"));
+		assertThat(commande.getPlats()).extracting(Plat::getId).containsExactly("a", "b", "c", "d", "a");
+	}
+
+	@Test
+	void demiCentimeArrondiAuSuperieur() {
+		Commande commande = commande(reference("a"));
+
+		tarificationService.tarifer(commande, Map.of("a", plat("a", 12.345)));
+
+		assertThat(commande.getPrixTotal()).isEqualTo(new BigDecimal("12.35"));
+	}
+
+	@Test
+	void prixTransmisParLeClientIgnore() {
+		Commande commande = commande(reference("a"));
+		commande.setPrixTotal(new BigDecimal("0.01"));
+
+		tarificationService.tarifer(commande, Map.of("a", plat("a", 9.5)));
+
+		assertThat(commande.getPrixTotal()).isEqualTo(new BigDecimal("9.50"));
+	}
+
+	@Test
+	void commandeSansPlatAUnTotalNul() {
+		Commande commande = new Commande();
+
+		tarificationService.tarifer(commande, Map.of());
+
+		assertThat(commande.getPrixTotal()).isEqualTo(new BigDecimal("0.00"));
+		assertThat(commande.getPlats()).isEmpty();
+	}
+
+	@Test
+	void platSansIdentifiantRejeteCommeRequeteInvalide() {
+		assertThatThrownBy(() -> tarificationService.tarifer(commande(reference(null)), Map.of()))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> tarificationService.tarifer(commande((Plat) null), Map.of()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void platInconnuIntrouvable() {
+		assertThatThrownBy(() -> tarificationService.tarifer(commande(reference("inconnu")), Map.of()))
+				.isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	private static Plat plat(String id, double prix) {
+		return new Plat(id, "Plat " + id, prix, null, "principal", List.of(), true);
+	}
+
+	private static Plat reference(String id) {
+		Plat plat = new Plat();
+		plat.setId(id);
+		return plat;
+	}
+
+	private static Commande commande(Plat... plats) {
+		Commande commande = new Commande();
+		List<Plat> liste = new ArrayList<>();
+		for (Plat plat : plats) {
+			liste.add(plat);
+		}
+		commande.setPlats(liste);
+		return commande;
+	}
+}